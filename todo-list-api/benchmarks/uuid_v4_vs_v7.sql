@@ -0,0 +1,96 @@
+-- =============================================================================
+-- BENCHMARK: UUID v4 (aleatorio) vs UUIDv7 (ordenado por tiempo)
+-- =============================================================================
+-- Compara, sobre dos tablas con la misma estructura que 'tasks', el tiempo de
+-- inserción y el tamaño final del índice de la clave primaria.
+--
+-- Ejecución (con la base de datos ya migrada, necesita uuid_generate_v7 de V4):
+--   make bench-uuid
+-- o bien:
+--   psql -U postgres -d todolist_db -v rows=2000000 -f benchmarks/uuid_v4_vs_v7.sql
+--
+-- Para un resultado representativo, el índice debe superar lo que cabe en
+-- shared_buffers: ajusta 'rows' según tu máquina (por defecto 2.000.000).
+--
+-- Qué esperar:
+-- - v7 inserta más rápido: cada INSERT escribe en la última hoja del índice,
+--   que siempre está en memoria. Con v4 cada INSERT toca una hoja al azar.
+-- - El índice v7 es más pequeño: las hojas se llenan en orden (como con un
+--   autoincremental), mientras que las divisiones aleatorias de v4 las dejan
+--   a medio llenar.
+-- =============================================================================
+
+\if :{?rows}
+\else
+    \set rows 2000000
+\endif
+\set batch 10000
+
+DROP TABLE IF EXISTS bench_tasks_v4;
+DROP TABLE IF EXISTS bench_tasks_v7;
+DROP TABLE IF EXISTS bench_results;
+
+CREATE TABLE bench_tasks_v4 (
+    id          UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    title       VARCHAR(120) NOT NULL,
+    description VARCHAR(2000),
+    completed   BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE bench_tasks_v7 (LIKE bench_tasks_v4 INCLUDING ALL);
+ALTER TABLE bench_tasks_v7 ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+CREATE TABLE bench_results (
+    version  TEXT,
+    seconds  NUMERIC,
+    rows_per_second NUMERIC,
+    pk_index TEXT
+);
+
+-- -----------------------------------------------------------------------------
+-- Inserción en lotes con COMMIT tras cada lote (como POST /tasks/batch)
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE PROCEDURE bench_fill(version TEXT, target REGCLASS, total INT, batch INT)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    started TIMESTAMPTZ := clock_timestamp();
+    done    INT := 0;
+    elapsed NUMERIC;
+BEGIN
+    WHILE done < total LOOP
+        EXECUTE format(
+            'INSERT INTO %s (title, description) ' ||
+            'SELECT ''Tarea '' || g, ''Descripción de prueba '' || g FROM generate_series(1, %s) g',
+            target, batch);
+        COMMIT;
+        done := done + batch;
+    END LOOP;
+
+    elapsed := extract(epoch FROM clock_timestamp() - started)::NUMERIC;
+    INSERT INTO bench_results
+    VALUES (version,
+            round(elapsed, 1),
+            round(done / elapsed),
+            pg_size_pretty(pg_relation_size(target::TEXT || '_pkey')));
+    COMMIT;
+END;
+$$;
+
+\echo 'Insertando filas con UUID v4...'
+CALL bench_fill('v4', 'bench_tasks_v4', :rows, :batch);
+
+\echo 'Insertando filas con UUID v7...'
+CALL bench_fill('v7', 'bench_tasks_v7', :rows, :batch);
+
+SELECT version, seconds, rows_per_second, pk_index
+FROM bench_results
+ORDER BY version;
+
+-- Limpieza
+DROP PROCEDURE bench_fill(TEXT, REGCLASS, INT, INT);
+DROP TABLE bench_tasks_v4;
+DROP TABLE bench_tasks_v7;
+DROP TABLE bench_results;
@@ -0,0 +1,73 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.UuidV7;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DATOS DE PRUEBA PARA LOS BENCHMARKS
+ * ===================================
+ *
+ * Tareas con contenido realista (título y descripción de longitud media)
+ * y el ObjectMapper configurado por Spring Boot.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Total de tareas simulado para las páginas (solo afecta a totalPages)
+     */
+    private static final long TOTAL_ELEMENTS = 1_000;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Task task(int index) {
+        Instant createdAt = Instant.parse("2024-01-15T10:30:00Z").plusSeconds(index);
+        return Task.builder()
+                .id(UuidV7.next())
+                .title("Revisar la documentación del módulo " + index)
+                .description("Leer los cambios de la última versión, anotar dudas y "
+                        + "preparar un resumen para la reunión del equipo (" + index + ")")
+                .completed(index % 3 == 0)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusSeconds(60))
+                .build();
+    }
+
+    /**
+     * Una página de 'size' tareas, igual que la que devuelve el repositorio
+     */
+    static Page<Task> page(int size) {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(task(i));
+        }
+        PageRequest pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return new PageImpl<>(tasks, pageable, TOTAL_ELEMENTS);
+    }
+
+    /**
+     * Arranca un contexto de Spring mínimo (solo Jackson, sin web ni base de
+     * datos) que lee application.yml. Así el ObjectMapper es exactamente el
+     * que usa la API: mismas opciones spring.jackson.* y mismos módulos.
+     */
+    static ConfigurableApplicationContext jacksonContext() {
+        return new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.dto.ApiResponse;
+import com.example.todolist.dto.PageResponse;
+import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.entity.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BENCHMARK: RESPUESTA DE UN LISTADO PAGINADO
+ * ===========================================
+ *
+ * Mide cada paso de GET /api/v1/tasks después de leer la página:
+ *
+ *   Page<Task> -> PageResponse.fromPage(TaskResponse::fromEntity)
+ *              -> ApiResponse.success -> JSON
+ *
+ * Con páginas de 10 elementos (el tamaño por defecto) y de 100 (el máximo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+
+    private Page<Task> page;
+    private PageResponse<TaskResponse> pageResponse;
+    private ApiResponse<PageResponse<TaskResponse>> envelope;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.jacksonContext();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        page = BenchmarkFixtures.page(pageSize);
+        pageResponse = PageResponse.fromPage(page, TaskResponse::fromEntity);
+        envelope = ApiResponse.success(pageResponse);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> fromPage() {
+        return PageResponse.fromPage(page, TaskResponse::fromEntity);
+    }
+
+    @Benchmark
+    public ApiResponse<PageResponse<TaskResponse>> wrapInApiResponse() {
+        return ApiResponse.success(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] fullResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                ApiResponse.success(PageResponse.fromPage(page, TaskResponse::fromEntity)));
+    }
+}
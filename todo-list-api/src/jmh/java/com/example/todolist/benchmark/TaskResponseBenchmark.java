@@ -0,0 +1,85 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.dto.ApiResponse;
+import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.entity.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BENCHMARK: RESPUESTA DE UNA TAREA
+ * =================================
+ *
+ * Mide cada paso de GET /api/v1/tasks/{id} después de leer la entidad:
+ *
+ *   Task -> TaskResponse.fromEntity -> ApiResponse.success -> JSON
+ *
+ * Cada paso por separado y el recorrido completo (fullResponse).
+ * Con -prof gc, la columna gc.alloc.rate.norm indica los bytes reservados
+ * por operación: es la cifra a vigilar para detectar regresiones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+
+    private Task task;
+    private TaskResponse response;
+    private ApiResponse<TaskResponse> envelope;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.jacksonContext();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        task = BenchmarkFixtures.task(1);
+        response = TaskResponse.fromEntity(task);
+        envelope = ApiResponse.success(ApiResponse.MSG_FOUND, response);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse fromEntity() {
+        return TaskResponse.fromEntity(task);
+    }
+
+    @Benchmark
+    public ApiResponse<TaskResponse> wrapInApiResponse() {
+        return ApiResponse.success(ApiResponse.MSG_FOUND, response);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] fullResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                ApiResponse.success(ApiResponse.MSG_FOUND, TaskResponse.fromEntity(task)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.todolist.loadtest;
+
+/**
+ * OPERACIONES DE LA CARGA MIXTA
+ * =============================
+ *
+ * Cada valor corresponde a un endpoint de TaskController y lleva su peso
+ * dentro de la mezcla (los pesos suman 100).
+ *
+ * La mezcla imita un uso típico: sobre todo lecturas (listados y detalle),
+ * algo de búsqueda y una parte menor de escrituras.
+ */
+public enum Endpoint {
+
+    LIST("GET /api/v1/tasks", 35),
+    SEARCH("GET /api/v1/tasks?q=", 15),
+    GET("GET /api/v1/tasks/{id}", 25),
+    CREATE("POST /api/v1/tasks", 10),
+    TOGGLE("PATCH /api/v1/tasks/{id}/toggle", 10),
+    DELETE("DELETE /api/v1/tasks/{id}", 5);
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Elige una operación al azar respetando los pesos
+     *
+     * @param dice Número aleatorio entre 0 y 99
+     */
+    public static Endpoint pick(int dice) {
+        int accumulated = 0;
+        for (Endpoint endpoint : values()) {
+            accumulated += endpoint.weight;
+            if (dice < accumulated) {
+                return endpoint;
+            }
+        }
+        return LIST;
+    }
+}
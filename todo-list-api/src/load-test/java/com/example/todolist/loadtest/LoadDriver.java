@@ -0,0 +1,211 @@
+package com.example.todolist.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GENERADOR DE CARGA
+ * ==================
+ *
+ * Lanza 'concurrency' clientes HTTP que, durante el tiempo indicado, eligen
+ * una operación de la mezcla (ver Endpoint) y la ejecutan sin pausa.
+ *
+ * Cada cliente anota la latencia de sus peticiones en su propio Recorder
+ * (sin sincronización). Al final se juntan todos en un LoadReport.
+ */
+public class LoadDriver {
+
+    /**
+     * Palabras de los títulos de prueba; también se usan como búsquedas
+     */
+    static final List<String> VOCABULARY = List.of(
+            "informe", "reunión", "factura", "presupuesto", "revisión",
+            "llamada", "documentación", "despliegue", "entrevista", "compra"
+    );
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final TaskIdPool ids = new TaskIdPool();
+
+    public LoadDriver(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Crea 'count' tareas con POST /batch para que las lecturas tengan datos
+     */
+    public void seed(int count) throws Exception {
+        int batchSize = 500;
+        for (int start = 0; start < count; start += batchSize) {
+            List<Map<String, String>> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(count, start + batchSize); i++) {
+                batch.add(Map.of("title", title(i), "description", "Tarea de la prueba de carga " + i));
+            }
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/tasks/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch))));
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("No se pudieron crear las tareas iniciales: " + response.body());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("data").path("results")) {
+                ids.add(item.path("id").asText());
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la carga mixta y devuelve las latencias por endpoint
+     */
+    public LoadReport run(int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Recorder>> futures = new ArrayList<>();
+
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                Recorder recorder = new Recorder();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = Endpoint.pick(ThreadLocalRandom.current().nextInt(100));
+                    long start = System.nanoTime();
+                    int status = execute(endpoint);
+                    recorder.record(endpoint, System.nanoTime() - start, status);
+                }
+                return recorder;
+            }));
+        }
+
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        return LoadReport.from(total, duration);
+    }
+
+    /**
+     * Ejecuta una petición y devuelve su código HTTP (-1 si falló la conexión)
+     */
+    private int execute(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            return switch (endpoint) {
+                case LIST -> send(HttpRequest.newBuilder(uri("/api/v1/tasks?page="
+                        + random.nextInt(5) + "&size=20")).GET()).statusCode();
+                case SEARCH -> send(HttpRequest.newBuilder(uri("/api/v1/tasks?q="
+                        + URLEncoder.encode(VOCABULARY.get(random.nextInt(VOCABULARY.size())), StandardCharsets.UTF_8)))
+                        .GET()).statusCode();
+                case GET -> send(HttpRequest.newBuilder(uri("/api/v1/tasks/" + ids.random())).GET()).statusCode();
+                case CREATE -> create(random.nextInt(1_000_000));
+                case TOGGLE -> send(HttpRequest.newBuilder(uri("/api/v1/tasks/" + ids.random() + "/toggle"))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())).statusCode();
+                case DELETE -> delete();
+            };
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private int create(int index) throws Exception {
+        String body = objectMapper.writeValueAsString(
+                Map.of("title", title(index), "description", "Creada durante la prueba de carga"));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() == 201) {
+            ids.add(objectMapper.readTree(response.body()).path("data").path("id").asText());
+        }
+        return response.statusCode();
+    }
+
+    private int delete() throws Exception {
+        String id = ids.removeRandom();
+        if (id == null) {
+            return create(0);
+        }
+        return send(HttpRequest.newBuilder(uri("/api/v1/tasks/" + id)).DELETE()).statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String title(int index) {
+        return "Preparar " + VOCABULARY.get(index % VOCABULARY.size()) + " número " + index;
+    }
+
+    /**
+     * Latencias (en nanosegundos) y errores por endpoint de un cliente
+     */
+    static final class Recorder {
+        final Map<Endpoint, long[]> latencies = new EnumMap<>(Endpoint.class);
+        final Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+        final Map<Endpoint, Integer> errors = new EnumMap<>(Endpoint.class);
+        final Map<Endpoint, Integer> rejected = new EnumMap<>(Endpoint.class);
+
+        void record(Endpoint endpoint, long nanos, int status) {
+            int n = counts.getOrDefault(endpoint, 0);
+            long[] values = latencies.computeIfAbsent(endpoint, e -> new long[256]);
+            if (n == values.length) {
+                values = Arrays.copyOf(values, n * 2);
+                latencies.put(endpoint, values);
+            }
+            values[n] = nanos;
+            counts.put(endpoint, n + 1);
+            // Un 404 puede ser legítimo: otro cliente borró la tarea entre medias.
+            // Un 503 es el bulkhead descartando carga (con hilos virtuales), con
+            // Retry-After: se cuenta aparte, no como error.
+            if (status == 503) {
+                rejected.merge(endpoint, 1, Integer::sum);
+            } else if (status < 0 || status >= 500) {
+                errors.merge(endpoint, 1, Integer::sum);
+            }
+        }
+
+        void merge(Recorder other) {
+            other.counts.forEach((endpoint, n) -> {
+                long[] mine = latencies.getOrDefault(endpoint, new long[0]);
+                int current = counts.getOrDefault(endpoint, 0);
+                long[] merged = Arrays.copyOf(mine, current + n);
+                System.arraycopy(other.latencies.get(endpoint), 0, merged, current, n);
+                latencies.put(endpoint, merged);
+                counts.put(endpoint, current + n);
+            });
+            other.errors.forEach((endpoint, n) -> errors.merge(endpoint, n, Integer::sum));
+            other.rejected.forEach((endpoint, n) -> rejected.merge(endpoint, n, Integer::sum));
+        }
+
+        long[] sorted(Endpoint endpoint) {
+            long[] values = Arrays.copyOf(latencies.getOrDefault(endpoint, new long[0]), counts.getOrDefault(endpoint, 0));
+            Arrays.sort(values);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.todolist.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * INFORME DE LA PRUEBA DE CARGA
+ * =============================
+ *
+ * Throughput y percentiles de latencia por endpoint y en total, y
+ * comparación del p99 con la línea base grabada en la máquina
+ * (.load-test/baseline-<hilos>.json).
+ */
+public class LoadReport {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Resultados de un endpoint. Latencias en milisegundos.
+     */
+    public record EndpointStats(
+            String endpoint,
+            long requests,
+            long errors,
+            long rejected,
+            double throughput,
+            double p50,
+            double p95,
+            double p99,
+            double max
+    ) {
+    }
+
+    private final Map<Endpoint, EndpointStats> stats;
+    private final EndpointStats total;
+
+    private LoadReport(Map<Endpoint, EndpointStats> stats, EndpointStats total) {
+        this.stats = stats;
+        this.total = total;
+    }
+
+    static LoadReport from(LoadDriver.Recorder recorder, Duration duration) {
+        Map<Endpoint, EndpointStats> stats = new LinkedHashMap<>();
+        List<long[]> all = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            long[] sorted = recorder.sorted(endpoint);
+            if (sorted.length == 0) {
+                continue;
+            }
+            all.add(sorted);
+            stats.put(endpoint, stats(endpoint.label(), sorted,
+                    recorder.errors.getOrDefault(endpoint, 0),
+                    recorder.rejected.getOrDefault(endpoint, 0),
+                    duration));
+        }
+        long[] merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        EndpointStats total = merged.length == 0 ? null : stats("Total", merged,
+                stats.values().stream().mapToLong(EndpointStats::errors).sum(),
+                stats.values().stream().mapToLong(EndpointStats::rejected).sum(),
+                duration);
+        return new LoadReport(stats, total);
+    }
+
+    private static EndpointStats stats(String label, long[] sorted, long errors, long rejected, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        return new EndpointStats(
+                label,
+                sorted.length,
+                errors,
+                rejected,
+                sorted.length / seconds,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6
+        );
+    }
+
+    public long totalErrors() {
+        return stats.values().stream().mapToLong(EndpointStats::errors).sum();
+    }
+
+    /**
+     * Compara el p99 de cada endpoint con la línea base
+     *
+     * @param baseline  p99 de referencia (ms) por endpoint
+     * @param tolerance Empeoramiento permitido (1.0 = el doble de lento)
+     * @return Descripción de cada endpoint que empeoró más de lo permitido
+     */
+    public List<String> regressions(Map<String, Double> baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        stats.forEach((endpoint, current) -> {
+            Double reference = baseline.get(endpoint.name());
+            if (reference != null && current.p99() > reference * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.1f ms > línea base %.1f ms (+%.0f%% permitido)",
+                        current.endpoint(), current.p99(), reference, tolerance * 100));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Línea base a partir de este informe (p99 por endpoint)
+     */
+    public Map<String, Double> toBaseline() {
+        Map<String, Double> baseline = new LinkedHashMap<>();
+        stats.forEach((endpoint, current) -> baseline.put(endpoint.name(), round(current.p99())));
+        return baseline;
+    }
+
+    /**
+     * Línea base a partir de varias ejecuciones: el peor p99 de cada endpoint,
+     * para que el ruido entre ejecuciones no cuente como regresión
+     */
+    public static Map<String, Double> worstBaseline(List<LoadReport> runs) {
+        Map<String, Double> baseline = new LinkedHashMap<>();
+        for (LoadReport run : runs) {
+            run.toBaseline().forEach((endpoint, p99) -> baseline.merge(endpoint, p99, Math::max));
+        }
+        return baseline;
+    }
+
+    public static Map<String, Double> readBaseline(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), new TypeReference<>() {
+        });
+    }
+
+    public static void writeBaseline(Path file, Map<String, Double> baseline) throws IOException {
+        Files.createDirectories(file.getParent());
+        JSON.writeValue(file.toFile(), baseline);
+    }
+
+    /**
+     * Escribe report.json y report.md en el directorio indicado
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        JSON.writeValue(directory.resolve("report.json").toFile(), stats.values());
+        Files.writeString(directory.resolve("report.md"), toMarkdown());
+    }
+
+    public String toMarkdown() {
+        StringBuilder table = new StringBuilder()
+                .append("| Endpoint | Peticiones | Errores | 503 | req/s | p50 ms | p95 ms | p99 ms | max ms |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (EndpointStats s : stats.values()) {
+            appendRow(table, s);
+        }
+        if (total != null) {
+            appendRow(table, total);
+        }
+        return table.toString();
+    }
+
+    private static void appendRow(StringBuilder table, EndpointStats s) {
+        table.append(String.format("| %s | %d | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f |%n",
+                s.endpoint(), s.requests(), s.errors(), s.rejected(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.todolist.loadtest;
+
+import com.example.todolist.TodoListApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PRUEBA DE CARGA DE EXTREMO A EXTREMO
+ * ====================================
+ *
+ * Arranca la aplicación completa (Tomcat, Flyway, caché...) contra un
+ * PostgreSQL real que se ejecuta como proceso local desde los binarios de
+ * io.zonky.test:embedded-postgres. No necesita Docker ni una BD instalada.
+ *
+ * Ejecución (no forma parte de 'mvn test'):
+ *   mvn -Pload-test verify
+ *   mvn -Pload-test verify -Dload.duration=PT60S -Dload.concurrency=64
+ *
+ * Hilos de plataforma o virtuales:
+ * --------------------------------
+ * 'load.threads' elige cómo atiende Tomcat las peticiones: 'platform' (por
+ * defecto, el pool de 200 hilos) o 'virtual' (lo mismo que el perfil
+ * 'virtual-threads': hilos virtuales y bulkhead de base de datos). Los hilos
+ * virtuales necesitan Java 21, así que para comparar ambos modos se compila
+ * con -Pjava21 y se ejecuta la prueba una vez con cada valor (make
+ * bench-threads). Cada modo tiene su informe y su línea base.
+ *
+ * Pasos:
+ * 1. Crea 'load.seed' tareas iniciales
+ * 2. Calentamiento de 'load.warmup' (resultados descartados)
+ * 3. Carga mixta (ver Endpoint) durante 'load.duration' con
+ *    'load.concurrency' clientes
+ * 4. Escribe target/load-test/<hilos>/report.md y report.json
+ * 5. Falla si algún endpoint devolvió errores 5xx o si su p99 empeoró más de
+ *    'load.tolerance' respecto a la línea base de esta máquina
+ *
+ * Línea base:
+ * -----------
+ * Las latencias dependen de la máquina, así que no hay una línea base en el
+ * repositorio: cada máquina graba la suya en .load-test/baseline-<hilos>.json
+ * (fuera de Git) y compara siempre contra ella. Si no existe, la prueba falla
+ * pidiendo que se grabe primero; grabarla es una decisión explícita, no un
+ * efecto secundario de la primera ejecución:
+ *   mvn -Pload-test verify -Dload.updateBaseline=true
+ *
+ * Al grabarla se mide 'load.baselineRuns' veces (3 por defecto) y se guarda
+ * el peor p99 de cada endpoint. En una máquina de una CPU, el p99 de un
+ * mismo endpoint varió hasta un 50 % entre ejecuciones iguales (más en los
+ * que tienen pocas peticiones, como DELETE), así que la tolerancia por
+ * defecto es del 100 %: la prueba detecta regresiones claras (el doble de
+ * lento), no diferencias finas. En una máquina más estable se puede bajar
+ * con -Dload.tolerance.
+ */
+@SpringBootTest(
+        classes = TodoListApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // El log de cada SQL distorsionaría por completo las latencias
+                "spring.jpa.show-sql=false",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.com.example.todolist=WARN"
+        }
+)
+class TaskApiLoadIT {
+
+    /**
+     * 'platform' o 'virtual' (ver "Hilos de plataforma o virtuales")
+     */
+    private static final String THREADS = System.getProperty("load.threads", "platform");
+
+    private static EmbeddedPostgres postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        boolean virtual = switch (THREADS) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("load.threads debe ser 'platform' o 'virtual': " + THREADS);
+        };
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("load.threads=virtual necesita Java 21: ejecuta con -Pjava21 y un JDK 21");
+        }
+        // Igual que el perfil 'virtual-threads' de application.yml
+        registry.add("spring.threads.virtual.enabled", () -> virtual);
+        registry.add("app.bulkhead.enabled", () -> virtual);
+
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void mixedWorkloadStaysWithinBaseline() throws Exception {
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, objectMapper);
+        driver.seed(Integer.getInteger("load.seed", 2_000));
+
+        int concurrency = Integer.getInteger("load.concurrency", 32);
+        driver.run(concurrency, Duration.parse(System.getProperty("load.warmup", "PT15S")));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        LoadReport report = driver.run(concurrency, duration);
+
+        Path reportDir = Path.of(System.getProperty("load.reportDir", "target/load-test")).resolve(THREADS);
+        report.write(reportDir);
+        System.out.println("Hilos: " + THREADS + System.lineSeparator() + report.toMarkdown());
+
+        assertThat(report.totalErrors())
+                .as("Peticiones con error 5xx o sin respuesta")
+                .isZero();
+
+        // Solo se comparan los dos modos entre sí (make bench-threads)
+        if (!Boolean.parseBoolean(System.getProperty("load.checkBaseline", "true"))) {
+            return;
+        }
+
+        Path baselineFile = Path.of(System.getProperty("load.baselineDir", ".load-test"))
+                .resolve("baseline-" + THREADS + ".json");
+        if (Boolean.getBoolean("load.updateBaseline")) {
+            List<LoadReport> runs = new ArrayList<>(List.of(report));
+            for (int i = 1; i < Integer.getInteger("load.baselineRuns", 3); i++) {
+                runs.add(driver.run(concurrency, duration));
+            }
+            LoadReport.writeBaseline(baselineFile, LoadReport.worstBaseline(runs));
+            System.out.println("Línea base guardada en " + baselineFile.toAbsolutePath());
+            return;
+        }
+        assertThat(baselineFile)
+                .as("No hay línea base para esta máquina en %s. Grábala primero con: "
+                        + "mvn -Pload-test verify -Dload.updateBaseline=true -Dload.threads=%s",
+                        baselineFile.toAbsolutePath(), THREADS)
+                .exists();
+
+        double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "1.0"));
+        Map<String, Double> baseline = LoadReport.readBaseline(baselineFile);
+        List<String> regressions = report.regressions(baseline, tolerance);
+        assertThat(regressions)
+                .as("Endpoints cuyo p99 empeoró respecto a la línea base")
+                .isEmpty();
+    }
+}
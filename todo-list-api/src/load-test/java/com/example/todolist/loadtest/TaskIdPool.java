@@ -0,0 +1,41 @@
+package com.example.todolist.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * IDS DE TAREAS EXISTENTES
+ * ========================
+ *
+ * Los clientes de carga eligen de aquí las tareas a consultar, alternar y
+ * borrar, y añaden las que crean. Compartido entre todos los clientes.
+ */
+class TaskIdPool {
+
+    private final List<String> ids = new ArrayList<>();
+
+    synchronized void add(String id) {
+        ids.add(id);
+    }
+
+    synchronized String random() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Quita un ID al azar (en O(1): se sustituye por el último de la lista)
+     *
+     * @return El ID quitado, o null si no queda ninguno
+     */
+    synchronized String removeRandom() {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        String id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.TodoListApplication;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskTombstone;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PRUEBA DE INTEGRACIÓN DEL REPOSITORIO
+ * =====================================
+ *
+ * Lo que hacen los triggers y funciones de las migraciones V5 a V7 no se
+ * puede probar con mocks: contadores (task_counters), lápidas, el filtro por
+ * change_xid de /tasks/changes y el reparto en particiones mensuales. Esta
+ * prueba lo comprueba contra un PostgreSQL real, el mismo embebido que usa
+ * TaskApiLoadIT (sin Docker).
+ *
+ * Ejecución (no forma parte de 'mvn test'):
+ *   mvn -Pload-test verify -Dit.test=TaskRepositoryIT
+ *
+ * Todas las pruebas comparten la BD. Cada una usa sus propias tareas (título
+ * con un prefijo único) y meses de partición distintos, así que el orden de
+ * ejecución no importa.
+ */
+@SpringBootTest(
+        classes = TodoListApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.org.hibernate.SQL=WARN"
+        }
+)
+class TaskRepositoryIT {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    // =========================================================================
+    // CONTADORES (V6)
+    // =========================================================================
+
+    @Test
+    void countersMatchCountAfterEveryKindOfWrite() {
+        String prefix = uniquePrefix();
+        String pattern = "%" + prefix + "%";
+        List<UUID> ids = createTasks(prefix, 6);
+        assertCountersMatchTable("alta");
+
+        taskRepository.toggleCompletedReturning(ids.get(0));
+        assertCountersMatchTable("alternar una");
+
+        taskRepository.updateReturning(ids.get(1), prefix + " editada", null, true);
+        assertCountersMatchTable("editar");
+
+        inTransaction(() -> taskRepository.setCompletedByIds(ids.subList(2, 4), true));
+        assertCountersMatchTable("completar por IDs");
+
+        inTransaction(() -> taskRepository.setCompletedByFilter(false, true, null, pattern));
+        assertCountersMatchTable("descompletar por filtro");
+
+        inTransaction(() -> taskRepository.toggleCompletedByIds(ids.subList(0, 3)));
+        assertCountersMatchTable("alternar por IDs");
+
+        inTransaction(() -> taskRepository.toggleCompletedByFilter(null, null, pattern));
+        assertCountersMatchTable("alternar por filtro");
+
+        inTransaction(() -> taskRepository.deleteTaskById(ids.get(0)));
+        assertCountersMatchTable("borrar una");
+
+        inTransaction(() -> taskRepository.deleteByIds(ids.subList(1, 3)));
+        assertCountersMatchTable("borrar por IDs");
+
+        inTransaction(() -> taskRepository.deleteByFilter(true, null, pattern));
+        inTransaction(() -> taskRepository.deleteByFilter(null, null, pattern));
+        assertCountersMatchTable("borrar por filtro");
+    }
+
+    // =========================================================================
+    // LÁPIDAS Y CAMBIOS INCREMENTALES (V5)
+    // =========================================================================
+
+    @Test
+    void everyDeleteLeavesOneTombstonePerTask() {
+        String prefix = uniquePrefix();
+        List<UUID> ids = createTasks(prefix, 5);
+        long sinceXid = taskRepository.currentSnapshotXmin();
+
+        inTransaction(() -> taskRepository.deleteTaskById(ids.get(0)));
+        inTransaction(() -> taskRepository.deleteByIds(ids.subList(1, 3)));
+        inTransaction(() -> taskRepository.deleteByFilter(null, null, "%" + prefix + "%"));
+
+        assertThat(tombstoneRepository.findAllById(ids))
+                .extracting(TaskTombstone::getTaskId)
+                .as("Una lápida por tarea eliminada, sea cual sea la forma de borrarla")
+                .containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(tombstoneRepository.findDeletedSince(sinceXid, 0, 1_000))
+                .extracting(TaskTombstone::getTaskId)
+                .containsAll(ids);
+    }
+
+    @Test
+    void changedSinceReturnsOnlyRowsWrittenAfterTheSnapshot() {
+        String prefix = uniquePrefix();
+        List<UUID> before = createTasks(prefix, 3);
+        long sinceXid = taskRepository.currentSnapshotXmin();
+
+        taskRepository.toggleCompletedReturning(before.get(0));
+        List<UUID> after = createTasks(prefix, 2);
+
+        List<Task> changed = taskRepository.findChangedSince(sinceXid, 0, 1_000);
+
+        assertThat(changed)
+                .extracting(Task::getId)
+                .as("La tarea modificada y las nuevas, no las que no han cambiado")
+                .contains(before.get(0), after.get(0), after.get(1))
+                .doesNotContain(before.get(1), before.get(2));
+        assertThat(changed)
+                .extracting(Task::getChangeSeq)
+                .isSorted();
+
+        // Paginar con afterSeq devuelve las mismas filas, una a una
+        List<UUID> paged = new ArrayList<>();
+        long afterSeq = 0;
+        for (List<Task> page = taskRepository.findChangedSince(sinceXid, afterSeq, 1); !page.isEmpty();
+             page = taskRepository.findChangedSince(sinceXid, afterSeq, 1)) {
+            paged.add(page.get(0).getId());
+            afterSeq = page.get(0).getChangeSeq();
+        }
+        assertThat(paged).containsExactlyElementsOf(changed.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void changedSinceIncludesTransactionsStillRunningAtTheSnapshot() throws Exception {
+        String prefix = uniquePrefix();
+        UUID pendingId;
+        long sinceXid;
+
+        // Una transacción escribe antes de tomar la instantánea y confirma
+        // después. Su change_xid es anterior a la siguiente transacción, pero
+        // el cliente aún no podía ver la fila: tiene que llegarle en la
+        // siguiente sincronización.
+        try (Connection pending = dataSource.getConnection()) {
+            pending.setAutoCommit(false);
+            pendingId = insertTask(pending, prefix + " en curso");
+
+            sinceXid = taskRepository.currentSnapshotXmin();
+            assertThat(taskRepository.findChangedSince(sinceXid, 0, 1_000))
+                    .extracting(Task::getId)
+                    .as("Sin confirmar todavía no es visible")
+                    .doesNotContain(pendingId);
+
+            createTasks(prefix, 1);
+            pending.commit();
+        }
+
+        assertThat(taskRepository.findChangedSince(sinceXid, 0, 1_000))
+                .extracting(Task::getId)
+                .as("Confirmada después de la instantánea, con un change_xid menor que las nuevas")
+                .contains(pendingId);
+    }
+
+    // =========================================================================
+    // PARTICIONES (V7)
+    // =========================================================================
+
+    @Test
+    void rowsLandInTheirMonthlyPartition() {
+        YearMonth thisMonth = YearMonth.now(ZoneOffset.UTC);
+        YearMonth nextMonth = thisMonth.plusMonths(1);
+        YearMonth farMonth = thisMonth.plusMonths(24);
+
+        // El mes en curso lo cubre tasks_legacy (ver V7); el siguiente ya
+        // existe desde la migración
+        UUID current = insertTask("actual", thisMonth);
+        UUID next = insertTask("siguiente", nextMonth);
+        assertThat(partitionOf(current)).isEqualTo("tasks_legacy");
+        assertThat(partitionOf(next)).isEqualTo(partitionName(nextMonth));
+
+        // Sin partición DEFAULT, un mes sin crear se rechaza
+        assertThatThrownBy(() -> insertTask("lejana", farMonth))
+                .isInstanceOf(DataAccessException.class);
+
+        Integer created = jdbcTemplate.queryForObject("SELECT create_task_partitions(24)", Integer.class);
+        assertThat(created).as("Particiones nuevas hasta dentro de 24 meses").isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT create_task_partitions(24)", Integer.class))
+                .as("Llamarla otra vez no crea nada")
+                .isZero();
+
+        UUID far = insertTask("lejana", farMonth);
+        assertThat(partitionOf(far)).isEqualTo(partitionName(farMonth));
+        assertThat(taskRepository.findById(far))
+                .as("La tabla particionada ve la fila, esté en la partición que esté")
+                .isPresent();
+        assertCountersMatchTable("altas en varias particiones");
+    }
+
+    @Test
+    void detachingAPartitionUpdatesCountersAndTombstones() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(12);
+        String partition = partitionName(month);
+        jdbcTemplate.queryForObject("SELECT create_task_partitions(12)", Integer.class);
+
+        List<UUID> ids = List.of(insertTask("archivar 1", month), insertTask("archivar 2", month));
+        taskRepository.toggleCompletedReturning(ids.get(0));
+        long sinceXid = taskRepository.currentSnapshotXmin();
+
+        Long removed = jdbcTemplate.queryForObject(
+                "SELECT detach_task_partition(CAST(? AS REGCLASS))", Long.class, partition);
+
+        assertThat(removed).isEqualTo(ids.size());
+        assertCountersMatchTable("desvincular partición");
+        assertThat(tombstoneRepository.findDeletedSince(sinceXid, 0, 1_000))
+                .extracting(TaskTombstone::getTaskId)
+                .as("Las tareas archivadas aparecen como borradas en /tasks/changes")
+                .containsAll(ids);
+
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    // =========================================================================
+    // UTILIDADES
+    // =========================================================================
+
+    private void assertCountersMatchTable(String step) {
+        long total = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class);
+        long completed = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE completed", Long.class);
+
+        TaskCounts counts = taskRepository.countTasks();
+        assertThat(counts.getTotal()).as("Total tras: " + step).isEqualTo(total);
+        assertThat(counts.getCompleted()).as("Completadas tras: " + step).isEqualTo(completed);
+        assertThat(taskRepository.countByCompleted(true)).as("Completadas tras: " + step).isEqualTo(completed);
+        assertThat(taskRepository.countByCompleted(false)).as("Pendientes tras: " + step).isEqualTo(total - completed);
+    }
+
+    private void inTransaction(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> action.run());
+    }
+
+    private List<UUID> createTasks(String prefix, int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(taskRepository.save(Task.builder().title(prefix + " " + i).build()).getId());
+        }
+        return ids;
+    }
+
+    private UUID insertTask(String title, YearMonth month) {
+        OffsetDateTime createdAt = month.atDay(15).atStartOfDay().atOffset(ZoneOffset.UTC);
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, created_at) VALUES (?, ?) RETURNING id", UUID.class, title, createdAt);
+    }
+
+    private static UUID insertTask(Connection connection, String title) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO tasks (title) VALUES (?) RETURNING id")) {
+            statement.setString(1, title);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    private String partitionOf(UUID id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT CAST(tableoid::regclass AS TEXT) FROM tasks WHERE id = ?", String.class, id);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "tasks_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static String uniquePrefix() {
+        return "it-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
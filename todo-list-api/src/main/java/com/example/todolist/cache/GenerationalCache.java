@@ -0,0 +1,171 @@
+package com.example.todolist.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * CACHÉ COMPARTIDA CON INVALIDACIÓN POR GENERACIÓN
+ * ================================================
+ *
+ * Implementación de Cache de Spring (la que usa @Cacheable) que guarda los
+ * valores como JSON en un SharedCacheBackend (Redis o memoria).
+ *
+ * Cada valor se guarda como "generación|json". Al leer, se piden en un solo
+ * viaje (MGET) la generación actual y el valor; si no coinciden, el valor es
+ * de antes del último cambio y se ignora. Ver ListCacheGeneration.
+ *
+ * Para no guardar nunca datos viejos con una generación nueva, se usa con
+ * @Cacheable(sync = true): Spring llama a get(key, loader) y la página se
+ * guarda con la generación leída ANTES de consultar la base de datos.
+ *
+ * Si el almacén no responde (Redis caído), la caché se comporta como vacía:
+ * las lecturas van a la base de datos en lugar de fallar.
+ */
+@Slf4j
+public class GenerationalCache extends AbstractValueAdaptingCache {
+
+    private static final char SEPARATOR = '|';
+
+    private final String name;
+    private final SharedCacheBackend backend;
+    private final ListCacheGeneration generation;
+    private final ObjectMapper objectMapper;
+    private final JavaType valueType;
+    private final Duration ttl;
+
+    /**
+     * @param name         Nombre de la caché (el de @Cacheable)
+     * @param backend      Almacén compartido
+     * @param generation   Contador de generación compartido
+     * @param objectMapper Serializador JSON
+     * @param valueType    Tipo de los valores (para leerlos de vuelta desde JSON)
+     * @param ttl          Tiempo máximo que se conserva un valor
+     */
+    public GenerationalCache(
+            String name,
+            SharedCacheBackend backend,
+            ListCacheGeneration generation,
+            ObjectMapper objectMapper,
+            JavaType valueType,
+            Duration ttl
+    ) {
+        super(false);
+        this.name = name;
+        this.backend = backend;
+        this.generation = generation;
+        this.objectMapper = objectMapper;
+        this.valueType = valueType;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return backend;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return read(key).value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Lookup lookup = read(key);
+        if (lookup.value != null) {
+            return (T) lookup.value;
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            write(key, value, lookup.generation);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        // Fuera de get(key, loader) no sabemos cuándo se leyó el valor: usamos la generación actual
+        write(key, value, read(key).generation);
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            backend.delete(entryKey(key));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo borrar la entrada '{}' de la caché {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    /**
+     * Vaciar la caché = subir la generación (invalida también las demás cachés de listados)
+     */
+    @Override
+    public void clear() {
+        generation.bump();
+    }
+
+    private Lookup read(Object key) {
+        try {
+            List<String> values = backend.getAll(List.of(ListCacheGeneration.KEY, entryKey(key)));
+            long current = ListCacheGeneration.parse(values.get(0));
+            String stored = values.get(1);
+            if (stored == null) {
+                return new Lookup(current, null);
+            }
+
+            int separator = stored.indexOf(SEPARATOR);
+            long storedGeneration = Long.parseLong(stored.substring(0, separator));
+            if (storedGeneration != current) {
+                return new Lookup(current, null);
+            }
+            return new Lookup(current, objectMapper.readValue(stored.substring(separator + 1), valueType));
+        } catch (Exception e) {
+            log.warn("Caché {} no disponible, se consulta la base de datos: {}", name, e.getMessage());
+            return new Lookup(-1, null);
+        }
+    }
+
+    private void write(Object key, Object value, long valueGeneration) {
+        if (valueGeneration < 0) {
+            // No pudimos leer la generación: mejor no guardar nada
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            backend.set(entryKey(key), valueGeneration + String.valueOf(SEPARATOR) + json, ttl);
+        } catch (Exception e) {
+            log.warn("No se pudo guardar la entrada '{}' en la caché {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    private String entryKey(Object key) {
+        return "todolist:tasks:lists:" + name + ":" + key;
+    }
+
+    /**
+     * Resultado de una lectura: generación actual y valor (null = no está o está caducado)
+     */
+    private record Lookup(long generation, Object value) {
+    }
+}
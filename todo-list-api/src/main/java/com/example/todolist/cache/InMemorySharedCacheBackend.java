@@ -0,0 +1,106 @@
+package com.example.todolist.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ALMACÉN EN MEMORIA (SUSTITUTO DE REDIS)
+ * =======================================
+ *
+ * Imita las operaciones de Redis que usa la caché de listados con un
+ * ConcurrentHashMap, incluida la caducidad de las claves. Así la aplicación
+ * (y la prueba de carga) funcionan igual sin un Redis en marcha.
+ *
+ * Se usa con app.cache.lists.backend=memory. Ojo: cada réplica tiene su
+ * propio mapa, así que NO se comparte entre instancias. Con la caché de
+ * listados desactivada solo guarda el contador de generación local; para
+ * activarla sobre este almacén hacen falta los eventos (app.events.enabled)
+ * o declarar que hay una sola réplica (ver CacheConfig). Para varias
+ * réplicas usa app.cache.lists.backend=redis.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.lists.backend", havingValue = "memory")
+@Slf4j
+public class InMemorySharedCacheBackend implements SharedCacheBackend {
+
+    /**
+     * Cada cuántas escrituras se eliminan las claves caducadas
+     */
+    private static final int PURGE_EVERY = 1_000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+    private int writesSincePurge;
+
+    public InMemorySharedCacheBackend() {
+        log.info("Caché de listados en memoria local (app.cache.lists.backend=memory)");
+    }
+
+    @Override
+    public List<String> getAll(List<String> keys) {
+        long now = System.nanoTime();
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Long counter = counters.get(key);
+            if (counter != null) {
+                values.add(counter.toString());
+                continue;
+            }
+            Entry entry = entries.get(key);
+            values.add(entry != null && !entry.isExpired(now) ? entry.value : null);
+        }
+        return values;
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+        purgeExpiredFromTimeToTime();
+    }
+
+    @Override
+    public long increment(String key) {
+        return increment(key, 1);
+    }
+
+    @Override
+    public long increment(String key, long delta) {
+        return counters.merge(key, delta, Long::sum);
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+        counters.remove(key);
+    }
+
+    /**
+     * Redis borra solo las claves caducadas; aquí lo hacemos cada cierto número de escrituras
+     */
+    private void purgeExpiredFromTimeToTime() {
+        if (++writesSincePurge < PURGE_EVERY) {
+            return;
+        }
+        writesSincePurge = 0;
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private record Entry(String value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
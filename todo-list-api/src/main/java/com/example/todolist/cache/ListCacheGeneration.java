@@ -0,0 +1,89 @@
+package com.example.todolist.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GENERACIÓN DE LA CACHÉ DE LISTADOS
+ * ==================================
+ *
+ * Un contador compartido (en Redis o en memoria) que sube cada vez que
+ * cambia alguna tarea. Cada página guardada en la caché lleva anotada la
+ * generación en la que se leyó; si la generación actual es otra, la página
+ * se considera caducada y se vuelve a consultar la base de datos.
+ *
+ * ¿Por qué un contador y no borrar las páginas?
+ * ---------------------------------------------
+ * Un cambio en una tarea puede afectar a cualquier página de cualquier
+ * filtro. Buscar y borrar todas esas claves sería caro y, mientras tanto,
+ * otra réplica podría volver a guardar una página vieja. Subir un contador
+ * invalida TODAS las páginas a la vez con una sola operación atómica; las
+ * páginas viejas desaparecen solas al caducar su TTL.
+ *
+ * Con Redis, el mismo contador sirve de ETag de los listados en todas las
+ * réplicas (ver TaskListVersion): cambia con cualquier escritura, se haga
+ * donde se haga.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ListCacheGeneration {
+
+    /**
+     * Clave del contador en el almacén compartido
+     */
+    public static final String KEY = "todolist:tasks:lists:generation";
+
+    private final SharedCacheBackend backend;
+
+    /**
+     * true si el contador lo comparten todas las réplicas
+     */
+    public boolean isShared() {
+        return backend.isShared();
+    }
+
+    /**
+     * Generación actual
+     *
+     * Si el contador no existe (Redis recién arrancado o vaciado) se crea a
+     * partir de la hora actual en milisegundos, igual que TaskListVersion:
+     * así nunca se repite un valor que un cliente pueda tener como ETag.
+     *
+     * @throws RuntimeException si el almacén no responde
+     */
+    public long current() {
+        String value = backend.getAll(List.of(KEY)).get(0);
+        if (value != null) {
+            return parse(value);
+        }
+        return backend.increment(KEY, System.currentTimeMillis());
+    }
+
+    /**
+     * Invalidar todas las páginas guardadas
+     *
+     * Hay que llamarlo DESPUÉS del commit (ver TaskListVersion). Si se
+     * llamara antes, otra petición podría leer los datos antiguos y
+     * guardarlos con la generación nueva.
+     */
+    public void bump() {
+        try {
+            backend.increment(KEY);
+        } catch (RuntimeException e) {
+            // El cambio ya está confirmado: no hacemos fallar la petición. Las
+            // páginas afectadas se renovarán al caducar (app.cache.lists.ttl).
+            log.error("No se pudo invalidar la caché de listados", e);
+        }
+    }
+
+    /**
+     * Interpretar el valor leído del almacén (null = el contador aún no existe)
+     */
+    static long parse(String value) {
+        return value != null ? Long.parseLong(value) : 0;
+    }
+}
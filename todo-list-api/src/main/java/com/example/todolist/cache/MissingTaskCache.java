@@ -0,0 +1,98 @@
+package com.example.todolist.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * CACHÉ NEGATIVA DE TAREAS INEXISTENTES
+ * =====================================
+ *
+ * Recuerda durante unos segundos los IDs que se buscaron y NO existían.
+ * Los scrapers y los clientes rotos repiten GET /api/v1/tasks/{id} con el
+ * mismo UUID inexistente: sin esta caché, cada intento es una consulta a
+ * PostgreSQL. Con ella, el segundo intento responde 404 sin tocar la BD.
+ *
+ * ¿Por qué es seguro?
+ * -------------------
+ * Los IDs los genera siempre el servidor (UUIDv7, ver UuidV7), tanto al
+ * crear como al importar. Un ID que alguien consultó antes de que existiera
+ * no puede aparecer después como tarea nueva, así que no hace falta borrar
+ * entradas al crear. Aun así el ttl es corto: cualquier caso raro (una
+ * restauración de copia de seguridad, un INSERT manual por psql) se corrige
+ * solo en pocos segundos.
+ *
+ * El tamaño está acotado: un scraper que prueba millones de UUIDs distintos
+ * solo expulsa las entradas más antiguas, no llena la memoria.
+ *
+ * Métricas:
+ * ---------
+ * Se publican como las de la caché de tareas, con la etiqueta
+ * cache=missingTasks (cache.gets con result=hit|miss, cache.size...).
+ *
+ * Configuración en application.yml:
+ * ---------------------------------
+ * app:
+ *   cache:
+ *     missing:
+ *       enabled: true
+ *       maximum-size: 100000
+ *       ttl: 10s
+ */
+@Component
+@Slf4j
+public class MissingTaskCache {
+
+    /**
+     * Nombre de la caché en las métricas
+     */
+    public static final String CACHE_NAME = "missingTasks";
+
+    /**
+     * null si la caché negativa está desactivada
+     */
+    private final Cache<UUID, Boolean> missing;
+
+    public MissingTaskCache(
+            @Value("${app.cache.missing.enabled:true}") boolean enabled,
+            @Value("${app.cache.missing.maximum-size:100000}") long maximumSize,
+            @Value("${app.cache.missing.ttl:10s}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        if (!enabled || ttl.isZero()) {
+            log.info("Caché de tareas inexistentes desactivada (app.cache.missing.enabled=false)");
+            this.missing = null;
+            return;
+        }
+        log.info("Caché de tareas inexistentes activada - tamaño máximo: {}, ttl: {}", maximumSize, ttl);
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, CACHE_NAME);
+    }
+
+    /**
+     * ¿Se buscó este ID hace poco y no existía?
+     */
+    public boolean isKnownMissing(UUID id) {
+        return missing != null && missing.getIfPresent(id) != null;
+    }
+
+    /**
+     * Anota un ID que se acaba de buscar sin encontrarlo
+     */
+    public void markMissing(UUID id) {
+        if (missing != null) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todolist.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FILTRO DE BLOOM FUERA DEL HEAP
+ * ==============================
+ *
+ * Responde a "¿puede existir este UUID?" con:
+ * - "no": seguro, el UUID nunca se añadió
+ * - "puede": se añadió, o es un falso positivo (probabilidad configurable)
+ *
+ * Los bits viven en un ByteBuffer directo (fuera del heap de Java): el GC no
+ * los recorre ni los copia, por muchos millones de IDs que contenga.
+ *
+ * Tamaño:
+ * -------
+ * bits = -n * ln(p) / ln(2)^2, con n = capacidad y p = falsos positivos.
+ * Por cada ID: 7,3 bits con p = 3 %, 9,6 bits con p = 1 %. Es decir,
+ * una capacidad de 10 millones ocupa unos 9 MB con p = 3 % y 12 MB con
+ * p = 1 % (TaskIdFilter reserva más capacidad que tareas, ver headroom).
+ *
+ * Concurrencia:
+ * -------------
+ * Cada palabra de 64 bits se actualiza con un OR atómico (VarHandle), así
+ * que put() y mightContain() se pueden llamar desde varios hilos sin locks.
+ * No se pueden quitar IDs: para olvidar los borrados hay que reconstruirlo.
+ */
+final class OffHeapBloomFilter {
+
+    private static final VarHandle WORDS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final double LN2 = Math.log(2);
+
+    private final ByteBuffer bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final LongAdder insertions = new LongAdder();
+
+    private OffHeapBloomFilter(long capacity, long bitCount, int hashCount) {
+        if (bitCount / 8 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Filtro de Bloom demasiado grande: " + bitCount + " bits");
+        }
+        this.capacity = capacity;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.bits = ByteBuffer.allocateDirect((int) (bitCount / 8));
+    }
+
+    /**
+     * Crea un filtro vacío dimensionado para 'capacity' IDs
+     *
+     * @param capacity          Número de IDs previsto
+     * @param falsePositiveRate Probabilidad de falso positivo con 'capacity' IDs (entre 0 y 1)
+     */
+    static OffHeapBloomFilter create(long capacity, double falsePositiveRate) {
+        long n = Math.max(1, capacity);
+        long bitCount = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        // Múltiplo de 64: el filtro se maneja por palabras de 64 bits
+        bitCount = Math.max(64, (bitCount + 63) & ~63L);
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+        return new OffHeapBloomFilter(n, bitCount, hashCount);
+    }
+
+    void put(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int offset = (int) (bit >>> 6) << 3;
+            long mask = 1L << bit;
+            // Leer antes de escribir evita el OR atómico cuando el bit ya está puesto
+            if (((long) WORDS.getOpaque(bits, offset) & mask) == 0) {
+                WORDS.getAndBitwiseOr(bits, offset, mask);
+            }
+        }
+        insertions.increment();
+    }
+
+    boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int offset = (int) (bit >>> 6) << 3;
+            if (((long) WORDS.getOpaque(bits, offset) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probabilidad de falso positivo con los IDs añadidos hasta ahora
+     */
+    double expectedFalsePositiveRate() {
+        double filled = -(double) hashCount * insertions.sum() / bitCount;
+        return Math.pow(1 - Math.exp(filled), hashCount);
+    }
+
+    long insertions() {
+        return insertions.sum();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    /**
+     * Finalizador de SplitMix64: reparte bien los bits aunque los UUIDv7
+     * consecutivos solo se diferencien en unos pocos
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todolist.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ALMACÉN EN REDIS
+ * ================
+ *
+ * Implementación real de la caché compartida: todas las réplicas de la API
+ * leen y escriben en el mismo servidor Redis (o compatible).
+ *
+ * La conexión se configura con las propiedades estándar de Spring Boot
+ * (spring.data.redis.host, port, password...). Ver el perfil 'redis' en
+ * application.yml.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.lists.backend", havingValue = "redis")
+@Slf4j
+public class RedisSharedCacheBackend implements SharedCacheBackend {
+
+    private final StringRedisTemplate redis;
+
+    public RedisSharedCacheBackend(StringRedisTemplate redis) {
+        this.redis = redis;
+        log.info("Caché de listados compartida en Redis (app.cache.lists.backend=redis)");
+    }
+
+    @Override
+    public List<String> getAll(List<String> keys) {
+        return redis.opsForValue().multiGet(keys);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        redis.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public long increment(String key) {
+        Long value = redis.opsForValue().increment(key);
+        return value != null ? value : 0;
+    }
+
+    @Override
+    public long increment(String key, long delta) {
+        Long value = redis.opsForValue().increment(key, delta);
+        return value != null ? value : 0;
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public void delete(String key) {
+        redis.delete(key);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todolist.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ALMACÉN DE LA CACHÉ COMPARTIDA
+ * ==============================
+ *
+ * Las pocas operaciones de tipo clave-valor que necesita la caché de
+ * listados (ver GenerationalCache). Hay dos implementaciones:
+ *
+ * - RedisSharedCacheBackend: Redis (o cualquier servidor compatible, como
+ *   Valkey o KeyDB). Lo comparten todas las réplicas de la API.
+ * - InMemorySharedCacheBackend: un mapa en memoria con el mismo
+ *   comportamiento, para desarrollo y pruebas sin un Redis en marcha.
+ *
+ * Se elige con app.cache.lists.backend (memory o redis).
+ */
+public interface SharedCacheBackend {
+
+    /**
+     * Leer varias claves en un solo viaje (MGET)
+     *
+     * @param keys Claves a leer
+     * @return Valores en el mismo orden; null en las claves que no existen
+     */
+    List<String> getAll(List<String> keys);
+
+    /**
+     * Guardar un valor que caduca pasado 'ttl' (SET ... PX)
+     */
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * Incrementar un contador de forma atómica (INCR)
+     *
+     * Si la clave no existe, se crea con valor 0 antes de incrementarla.
+     *
+     * @return El valor tras el incremento
+     */
+    long increment(String key);
+
+    /**
+     * Sumar 'delta' a un contador de forma atómica (INCRBY)
+     *
+     * @return El valor tras la suma
+     */
+    long increment(String key, long delta);
+
+    /**
+     * true si lo comparten todas las réplicas (Redis); false si es local
+     */
+    boolean isShared();
+
+    /**
+     * Borrar una clave (DEL)
+     */
+    void delete(String key);
+}
@@ -0,0 +1,437 @@
+package com.example.todolist.cache;
+
+import com.example.todolist.dto.TaskChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * ÍNDICE DE EXISTENCIA DE TAREAS (FILTRO DE BLOOM)
+ * ================================================
+ *
+ * Guarda en memoria, fuera del heap, un filtro de Bloom con los IDs de TODAS
+ * las tareas. Si el filtro dice que un ID no existe, TaskService.getTaskById
+ * responde 404 sin consultar la BD. Si dice que "puede existir", se consulta
+ * la BD como siempre.
+ *
+ * Solo se usa en lecturas. Las escrituras (PUT, PATCH, DELETE) van siempre a
+ * la BD: un 404 de más en una lectura se arregla reintentando, pero en una
+ * escritura el cliente creería que la tarea no existe.
+ *
+ * Complementa a MissingTaskCache: esta solo acelera un ID inexistente a
+ * partir de su segundo intento; el filtro rechaza también el primero.
+ *
+ * ¿Cómo se construye?
+ * -------------------
+ * Al arrancar, en segundo plano, se recorre la columna id con un cursor
+ * (fetch-size) sin cargar la tabla en memoria. Mientras tanto el filtro no
+ * se usa y todas las consultas van a la BD.
+ *
+ * ¿Cómo se mantiene al día?
+ * -------------------------
+ * Con los mismos NOTIFY de GET /api/v1/tasks/events (ver TaskChangeListener),
+ * que llegan a todas las réplicas:
+ *
+ *   created                      -> se añade el ID
+ *   bulk-create / bulk-import    -> se reconstruye (el evento no trae los IDs)
+ *   conexión LISTEN perdida      -> deja de usarse (se pueden perder avisos)
+ *   resync (conexión recuperada) -> se reconstruye
+ *
+ * Desde el evento hasta que termina la reconstrucción, el filtro no se usa.
+ *
+ * ¿Cuándo NO se fía del filtro? (la consulta va a la BD)
+ * ------------------------------------------------------
+ * Un ID que existe no está en el filtro mientras su NOTIFY no haya llegado.
+ * Para no responder 404 por eso:
+ * - El filtro solo se usa si TaskChangeListener ha confirmado hace menos de
+ *   recent-window que su conexión está viva y que ha repartido todos los
+ *   avisos hasta ese momento (lo hace cada pocos segundos). Una conexión
+ *   caída o medio cerrada deja de confirmar y el filtro se apaga solo.
+ * - Los UUIDv7 creados menos de recent-window antes de ahora, o antes de la
+ *   transacción de escritura más antigua en curso, van siempre a la BD. Lo
+ *   segundo cubre las transacciones largas (una importación con COPY, un
+ *   lote grande): sus IDs pueden ser muy anteriores al commit, y ninguno se
+ *   rechaza hasta que su NOTIFY haya llegado y el filtro se haya
+ *   reconstruido. El listener consulta esa transacción más antigua en
+ *   pg_stat_activity, que solo muestra la hora de inicio de las sesiones del
+ *   mismo usuario de la BD (o de todas con pg_read_all_stats).
+ * - Los IDs que no son UUIDv7 (tareas anteriores a la migración V4, o
+ *   insertadas a mano) solo se rechazan si no estaban en la última
+ *   reconstrucción.
+ *
+ * Los borrados no se quitan del filtro (un filtro de Bloom no lo permite):
+ * solo hacen que esos IDs vayan a la BD. La reconstrucción periódica
+ * (rebuild-interval) los olvida y ajusta el tamaño al número de tareas.
+ *
+ * Sin eventos (app.events.enabled=false) no hay forma de enterarse de las
+ * altas de otras réplicas, así que el filtro se desactiva. Por eso viene
+ * desactivado por defecto: se activa junto con los eventos.
+ *
+ * Memoria:
+ * --------
+ * capacidad = max(minimum-capacity, tareas x headroom), a 7,3 bits por ID con
+ * un 3 % de falsos positivos (ver OffHeapBloomFilter). Con headroom 1,5:
+ * unos 14 MB por cada 10 millones de tareas, 41 MB con 30 millones. Mientras
+ * se reconstruye conviven el filtro viejo y el nuevo, hasta el doble. Con
+ * false-positive-rate 0.1 baja a 4,8 bits por ID (9 MB por 10 millones).
+ *
+ * Métricas:
+ * ---------
+ * - task.id.filter.size:     memoria que ocupa (bytes, fuera del heap)
+ * - task.id.filter.entries:  IDs añadidos desde la última reconstrucción
+ * - task.id.filter.fpp:      probabilidad estimada de falso positivo
+ * - task.id.filter.active:   1 si se está usando, 0 si está en reconstrucción
+ * - task.id.filter.rebuild:  duración de cada reconstrucción
+ * - task.id.filter.rejected: IDs rechazados sin consultar la BD
+ *
+ * Configuración en application.yml:
+ * ---------------------------------
+ * app:
+ *   cache:
+ *     task-ids:
+ *       enabled: false    # necesita app.events.enabled=true
+ *       false-positive-rate: 0.03
+ *       minimum-capacity: 1000000
+ *       headroom: 1.5
+ *       recent-window: 10s
+ *       rebuild-delay: 10s
+ *       rebuild-interval: 6h
+ */
+@Component
+@Slf4j
+public class TaskIdFilter {
+
+    /**
+     * Filas por viaje a la BD al recorrer la columna id
+     */
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String IDS_SQL = "SELECT id FROM tasks";
+
+    /**
+     * Estimación del número de filas según las estadísticas (sin recorrer la
+     * tabla), sumando las particiones de 'tasks'
+     */
+    private static final String ESTIMATE_SQL =
+            "SELECT COALESCE(sum(GREATEST(c.reltuples, 0)), 0)::bigint "
+            + "FROM pg_partition_tree('tasks'::regclass) p JOIN pg_class c ON c.oid = p.relid WHERE p.isleaf";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+    private final double headroom;
+    private final Duration recentWindow;
+    private final Duration rebuildDelay;
+    private final Duration rebuildInterval;
+
+    /**
+     * Filtro en uso (null hasta la primera construcción)
+     */
+    private volatile OffHeapBloomFilter current;
+
+    /**
+     * Filtro en construcción: las altas que llegan mientras tanto van a los dos
+     */
+    private volatile OffHeapBloomFilter building;
+
+    /**
+     * Última vez (milisegundos) hasta la que TaskChangeListener ha repartido
+     * todos los avisos; 0 si la conexión LISTEN está caída
+     */
+    private volatile long feedConfirmedAt;
+
+    /**
+     * Inicio (milisegundos) de la transacción de escritura más antigua vista
+     * en curso durante el último recent-window; Long.MAX_VALUE si ninguna
+     */
+    private volatile long oldestRecentWrite = Long.MAX_VALUE;
+
+    /**
+     * Comprobaciones del listener dentro de recent-window: {hora, inicio de
+     * la escritura más antigua}. Solo las toca el hilo del listener.
+     */
+    private final Deque<long[]> writeSamples = new ArrayDeque<>();
+
+    /**
+     * Cada evento que deja el filtro incompleto sube 'invalidations'. El
+     * filtro solo se usa si la última reconstrucción empezó después del
+     * último de esos eventos.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile long coveredInvalidations = -1;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+    private final Timer rebuildTimer;
+    private final Counter rejectedCounter;
+
+    public TaskIdFilter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.task-ids.enabled:false}") boolean enabled,
+            @Value("${app.events.enabled:false}") boolean eventsEnabled,
+            @Value("${app.cache.task-ids.false-positive-rate:0.03}") double falsePositiveRate,
+            @Value("${app.cache.task-ids.minimum-capacity:1000000}") long minimumCapacity,
+            @Value("${app.cache.task-ids.headroom:1.5}") double headroom,
+            @Value("${app.cache.task-ids.recent-window:10s}") Duration recentWindow,
+            @Value("${app.cache.task-ids.rebuild-delay:10s}") Duration rebuildDelay,
+            @Value("${app.cache.task-ids.rebuild-interval:6h}") Duration rebuildInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+        this.headroom = headroom;
+        this.recentWindow = recentWindow;
+        this.rebuildDelay = rebuildDelay;
+        this.rebuildInterval = rebuildInterval;
+
+        if (enabled && !eventsEnabled) {
+            log.warn("Filtro de IDs de tareas desactivado: necesita app.events.enabled=true "
+                    + "para enterarse de las altas de otras réplicas");
+        }
+        this.enabled = enabled && eventsEnabled;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-id-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("task.id.filter.size", this, filter -> filter.currentValue(OffHeapBloomFilter::sizeInBytes))
+                .description("Memoria fuera del heap que ocupa el filtro de IDs de tareas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("task.id.filter.entries", this, filter -> filter.currentValue(OffHeapBloomFilter::insertions))
+                .description("IDs añadidos al filtro desde su última reconstrucción")
+                .register(meterRegistry);
+        Gauge.builder("task.id.filter.fpp", this, filter -> {
+                    OffHeapBloomFilter bloom = filter.current;
+                    return bloom != null ? bloom.expectedFalsePositiveRate() : 0;
+                })
+                .description("Probabilidad estimada de falso positivo del filtro de IDs")
+                .register(meterRegistry);
+        Gauge.builder("task.id.filter.active", this, filter -> filter.isActive() ? 1 : 0)
+                .description("1 si el filtro de IDs se está usando, 0 si está en construcción o desactivado")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("task.id.filter.rebuild")
+                .description("Duración de la reconstrucción del filtro de IDs")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("task.id.filter.rejected")
+                .description("IDs rechazados por el filtro sin consultar la BD")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Primera construcción, cuando la aplicación ya está arrancada (el
+     * listener de NOTIFY ya escucha, así que no se pierde ningún alta)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        requestRebuild(Duration.ZERO);
+        if (!rebuildInterval.isZero()) {
+            executor.scheduleWithFixedDelay(() -> requestRebuild(Duration.ZERO),
+                    rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * ¿Puede existir una tarea con este ID?
+     *
+     * @return false solo si es SEGURO que no existe
+     */
+    public boolean mightExist(UUID id) {
+        OffHeapBloomFilter filter = current;
+        if (filter == null || !isActive() || isRecent(id)) {
+            return true;
+        }
+        if (filter.mightContain(id)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * TaskChangeListener ha comprobado que su conexión está viva y ha
+     * repartido todos los avisos confirmados antes de 'checkedAt'
+     *
+     * @param checkedAt        Momento de la comprobación (milisegundos)
+     * @param oldestWriteStart Inicio de la transacción de escritura más
+     *                         antigua en curso en ese momento, o null
+     */
+    public void feedConfirmed(long checkedAt, Long oldestWriteStart) {
+        if (!enabled) {
+            return;
+        }
+        writeSamples.addLast(new long[]{checkedAt, oldestWriteStart != null ? oldestWriteStart : Long.MAX_VALUE});
+        while (writeSamples.peekFirst()[0] < checkedAt - recentWindow.toMillis()) {
+            writeSamples.removeFirst();
+        }
+        long oldest = Long.MAX_VALUE;
+        for (long[] sample : writeSamples) {
+            oldest = Math.min(oldest, sample[1]);
+        }
+        oldestRecentWrite = oldest;
+        feedConfirmedAt = checkedAt;
+    }
+
+    /**
+     * Se perdió la conexión LISTEN: los avisos de ahora en adelante pueden
+     * perderse, así que el filtro no se usa hasta reconstruirlo tras el
+     * 'resync' de la reconexión
+     */
+    public void connectionLost() {
+        if (!enabled) {
+            return;
+        }
+        feedConfirmedAt = 0;
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Recibe los cambios de TaskChangeListener (de esta réplica y de las demás)
+     */
+    public void onChange(TaskChangeEvent event) {
+        if (!enabled || event.getType() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case TaskChangeEvent.CREATED -> add(event.getId());
+            case "bulk-create", "bulk-import", TaskChangeEvent.RESYNC -> {
+                invalidations.incrementAndGet();
+                requestRebuild(rebuildDelay);
+            }
+            default -> {
+                // Modificaciones y borrados no cambian qué IDs pueden existir
+            }
+        }
+    }
+
+    private void add(UUID id) {
+        if (id == null) {
+            return;
+        }
+        OffHeapBloomFilter filter = current;
+        OffHeapBloomFilter next = building;
+        if (filter != null) {
+            filter.put(id);
+            // Por encima de su capacidad, los falsos positivos crecen rápido
+            if (filter.insertions() > filter.capacity()) {
+                requestRebuild(rebuildDelay);
+            }
+        }
+        if (next != null) {
+            next.put(id);
+        }
+    }
+
+    private boolean isActive() {
+        return current != null
+                && coveredInvalidations == invalidations.get()
+                && System.currentTimeMillis() - feedConfirmedAt < recentWindow.toMillis();
+    }
+
+    /**
+     * UUIDv7 creado menos de recent-window antes de ahora o antes de la
+     * transacción de escritura más antigua en curso
+     */
+    private boolean isRecent(UUID id) {
+        if (id.version() != 7) {
+            return false;
+        }
+        long createdAt = id.getMostSignificantBits() >>> 16;
+        long horizon = Math.min(System.currentTimeMillis(), oldestRecentWrite);
+        return createdAt > horizon - recentWindow.toMillis();
+    }
+
+    /**
+     * Programa una reconstrucción; las peticiones que llegan mientras está
+     * programada se agrupan en ella
+     */
+    private void requestRebuild(Duration delay) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        // A partir de aquí, una nueva petición programa otra reconstrucción
+        rebuildScheduled.set(false);
+        long covered = invalidations.get();
+        long start = System.nanoTime();
+        try {
+            OffHeapBloomFilter next = OffHeapBloomFilter.create(capacityFor(estimateRows()), falsePositiveRate);
+            building = next;
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(IDS_SQL);
+                // Con fetch-size (y dentro de una transacción) el driver usa un
+                // cursor y no carga todos los IDs en memoria
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> next.put(rs.getObject(1, UUID.class))));
+
+            current = next;
+            coveredInvalidations = covered;
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Filtro de IDs reconstruido: {} tareas, {} KB, {} ms",
+                    next.insertions(), next.sizeInBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo reconstruir el filtro de IDs, se reintenta en {}: {}",
+                    rebuildDelay, e.getMessage());
+            requestRebuild(rebuildDelay);
+        } finally {
+            building = null;
+        }
+    }
+
+    private long estimateRows() {
+        Long rows = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    private long capacityFor(long rows) {
+        return Math.max(minimumCapacity, (long) (rows * headroom));
+    }
+
+    private double currentValue(ToLongFunction<OffHeapBloomFilter> value) {
+        OffHeapBloomFilter filter = current;
+        return filter != null ? value.applyAsLong(filter) : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
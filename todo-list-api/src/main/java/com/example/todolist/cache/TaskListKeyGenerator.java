@@ -0,0 +1,50 @@
+package com.example.todolist.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * CLAVES DE LA CACHÉ DE LISTADOS
+ * ==============================
+ *
+ * Construye la clave de cada página a partir de los argumentos del método
+ * de TaskService (filtros, página y tamaño), normalizados para que
+ * peticiones equivalentes compartan la misma entrada:
+ *
+ *   getAllTasks(null, "  Comprar  LECHE ", true, 0, 10)
+ *     -> getAllTasks:-:comprar leche:true:0:10
+ *
+ * - El texto de búsqueda se recorta, se pasa a minúsculas y se colapsan los
+ *   espacios (la búsqueda ya es insensible a mayúsculas).
+ * - null (sin filtro) se representa con "-".
+ *
+ * Se usa con @Cacheable(keyGenerator = "taskListKeyGenerator").
+ */
+@Component("taskListKeyGenerator")
+public class TaskListKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        StringJoiner key = new StringJoiner(":");
+        key.add(method.getName());
+        for (Object param : params) {
+            key.add(normalize(param));
+        }
+        return key.toString();
+    }
+
+    private static String normalize(Object param) {
+        if (param == null) {
+            return "-";
+        }
+        if (param instanceof String text) {
+            String normalized = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            return normalized.isEmpty() ? "-" : normalized;
+        }
+        return param.toString();
+    }
+}
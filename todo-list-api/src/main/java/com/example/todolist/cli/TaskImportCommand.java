@@ -0,0 +1,106 @@
+package com.example.todolist.cli;
+
+import com.example.todolist.dto.ImportResponse;
+import com.example.todolist.service.TaskFileFormat;
+import com.example.todolist.service.TaskImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * IMPORTACIÓN DESDE LA LÍNEA DE COMANDOS
+ * ======================================
+ *
+ * Permite importar un fichero sin levantar el servidor HTTP, por ejemplo
+ * dentro de un script de migración:
+ *
+ *   java -jar todo-list-api.jar --spring.main.web-application-type=none \
+ *        --app.import.file=tasks.csv
+ *
+ * o bien: make import FILE=tasks.csv
+ *
+ * Usa el mismo TaskImportService (COPY) que POST /api/v1/tasks/import.
+ * El formato se deduce de la extensión (.csv, .ndjson, con .gz opcional) o
+ * se indica con --app.import.format=csv|ndjson.
+ *
+ * Al terminar, la aplicación se cierra con código 0 si se importó alguna
+ * tarea y 1 en caso contrario.
+ *
+ * Solo se activa si se indica app.import.file.
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportCommand implements ApplicationRunner {
+
+    private final TaskImportService taskImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.import.file}")
+    private Path file;
+
+    @Value("${app.import.format:}")
+    private String format;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String name = file.getFileName().toString().toLowerCase();
+        boolean gzip = name.endsWith(".gz");
+        TaskFileFormat fileFormat = resolveFormat(gzip ? name.substring(0, name.length() - 3) : name);
+        if (fileFormat == null) {
+            log.error("No se reconoce el formato de {}. Indica --app.import.format=csv|ndjson", file);
+            exit(1);
+            return;
+        }
+
+        log.info("Importando {} (formato {}{})", file, fileFormat, gzip ? ", gzip" : "");
+        ImportResponse result;
+        try (InputStream in = open(gzip);
+             TaskImportService.StagedImport staged = taskImportService.stage(fileFormat, in)) {
+            result = taskImportService.load(staged);
+        }
+
+        for (ImportResponse.RejectedLine rejected : result.getRejectedLines()) {
+            log.warn("Línea {} rechazada: {}", rejected.getLine(), String.join("; ", rejected.getErrors()));
+        }
+        if (result.isRejectedLinesTruncated()) {
+            log.warn("... y {} líneas rechazadas más",
+                    result.getRejected() - result.getRejectedLines().size());
+        }
+        log.info("Importación terminada: {} tareas importadas, {} rechazadas",
+                result.getImported(), result.getRejected());
+
+        exit(result.getImported() > 0 ? 0 : 1);
+    }
+
+    private TaskFileFormat resolveFormat(String name) {
+        if (!format.isBlank()) {
+            return TaskFileFormat.fromName(format);
+        }
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? null : TaskFileFormat.fromName(name.substring(dot + 1));
+    }
+
+    private InputStream open(boolean gzip) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file));
+        return gzip ? new GZIPInputStream(in) : in;
+    }
+
+    private void exit(int code) {
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
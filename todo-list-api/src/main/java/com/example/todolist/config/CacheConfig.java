@@ -0,0 +1,217 @@
+package com.example.todolist.config;
+
+import com.example.todolist.cache.GenerationalCache;
+import com.example.todolist.cache.ListCacheGeneration;
+import com.example.todolist.cache.SharedCacheBackend;
+import com.example.todolist.dto.PageResponse;
+import com.example.todolist.dto.SliceResponse;
+import com.example.todolist.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CONFIGURACIÓN DE CACHÉ
+ * ======================
+ *
+ * Guarda en memoria las tareas consultadas por ID para que las lecturas
+ * repetidas (por ejemplo, un panel que consulta la misma tarea cada segundo)
+ * no vayan a PostgreSQL cada vez.
+ *
+ * ¿Cómo funciona?
+ * ---------------
+ * TaskService usa las anotaciones de Spring Cache:
+ * - @Cacheable:  si la tarea está en caché, se devuelve sin tocar la BD
+ * - @CachePut:   al actualizar o alternar, se guarda la versión nueva
+ * - @CacheEvict: al eliminar, se borra de la caché
+ *
+ * Caffeine se encarga de que la caché no crezca sin límite:
+ * - maximum-size: número máximo de tareas guardadas (expulsa las menos usadas)
+ * - ttl: tiempo máximo que una tarea permanece en caché desde que se escribió
+ *
+ * Cada réplica tiene su propia caché. Con app.events.enabled=true,
+ * TaskChangeListener expulsa las tareas que cambian en OTRAS réplicas en
+ * cuanto llega su NOTIFY; sin eventos, una réplica puede servir una tarea
+ * modificada en otra hasta que caduque (ttl).
+ *
+ * Métricas:
+ * ---------
+ * recordStats() activa los contadores de Caffeine. Actuator los publica en
+ * /actuator/metrics como cache.gets (result=hit|miss) y cache.evictions
+ * con la etiqueta cache=tasks.
+ *
+ * Caché compartida de listados:
+ * -----------------------------
+ * Las páginas de GET /api/v1/tasks (getAllTasks y getAllTasksWithoutTotal)
+ * se guardan en una caché COMPARTIDA entre réplicas (Redis, o un sustituto
+ * en memoria). Con varias réplicas detrás de un balanceador, la primera que
+ * consulta una página la guarda y las demás la reutilizan.
+ *
+ * Aquí no sirve @CacheEvict: un cambio puede afectar a cualquier página.
+ * Cada escritura sube un contador de generación compartido (ver
+ * ListCacheGeneration y GenerationalCache) y todas las páginas anteriores
+ * dejan de ser válidas a la vez.
+ *
+ * Desactivada por defecto. Solo se puede activar si los cambios hechos
+ * fuera de esta réplica suben también la generación:
+ * - backend=redis: la generación es la misma para todas las réplicas.
+ * - app.events.enabled=true: cada réplica sube la suya con los NOTIFY.
+ * - single-node=true (perfil 'single-node', y pruebas): una sola réplica,
+ *   aceptando que lo que se cambie por fuera de la aplicación ('make
+ *   import', detach_task_partition(), psql) se vea al caducar las páginas.
+ * Con el almacén en memoria y sin eventos, una réplica seguiría sirviendo
+ * las páginas que otra ya ha cambiado: la aplicación no arranca.
+ *
+ * Configuración en application.yml:
+ * ---------------------------------
+ * app:
+ *   cache:
+ *     tasks:
+ *       enabled: true
+ *       maximum-size: 10000
+ *       ttl: 60s
+ *     lists:
+ *       enabled: false
+ *       backend: memory   # o redis
+ *       single-node: false
+ *       ttl: 5m
+ *
+ * @EnableCaching se ordena por fuera de @Transactional: así la caché se
+ * actualiza o invalida DESPUÉS del commit, y nunca guarda un valor que luego
+ * se deshizo con un rollback. Entre ambos queda DatabaseBulkhead, para que
+ * los aciertos de caché no consuman permisos del bulkhead.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
+@Slf4j
+public class CacheConfig {
+
+    /**
+     * Nombre de la caché de tareas por ID
+     */
+    public static final String TASKS_CACHE = "tasks";
+
+    /**
+     * Cachés compartidas de listados: con totales (PageResponse) y sin ellos (SliceResponse)
+     */
+    public static final String TASK_PAGES_CACHE = "taskPages";
+    public static final String TASK_SLICES_CACHE = "taskSlices";
+
+    @Value("${app.cache.tasks.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.tasks.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${app.cache.tasks.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${app.cache.lists.enabled:false}")
+    private boolean listsEnabled;
+
+    @Value("${app.cache.lists.single-node:false}")
+    private boolean listsSingleNode;
+
+    @Value("${app.events.enabled:false}")
+    private boolean eventsEnabled;
+
+    @Value("${app.cache.lists.ttl:5m}")
+    private Duration listsTtl;
+
+    /**
+     * Bean que crea el gestor de cachés
+     *
+     * Combina (CompositeCacheManager) la caché local de tareas por ID y las
+     * cachés compartidas de listados. Una caché desactivada se sustituye por
+     * NoOpCacheManager: las anotaciones siguen funcionando pero no guardan
+     * nada, y cada lectura va a la BD.
+     *
+     * @return CacheManager con todas las cachés de la aplicación
+     */
+    @Bean
+    public CacheManager cacheManager(
+            SharedCacheBackend sharedCacheBackend,
+            ListCacheGeneration listCacheGeneration,
+            ObjectMapper objectMapper
+    ) {
+        List<CacheManager> managers = new ArrayList<>();
+        if (enabled) {
+            managers.add(taskCacheManager());
+        } else {
+            log.info("Caché de tareas desactivada (app.cache.tasks.enabled=false)");
+        }
+        if (listsEnabled) {
+            if (!sharedCacheBackend.isShared() && !eventsEnabled && !listsSingleNode) {
+                throw new IllegalStateException("La caché de listados en memoria no ve los cambios de otras "
+                        + "réplicas: usa app.cache.lists.backend=redis o app.events.enabled=true "
+                        + "(o app.cache.lists.single-node=true si solo hay una réplica)");
+            }
+            managers.add(listCacheManager(sharedCacheBackend, listCacheGeneration, objectMapper));
+        } else {
+            log.info("Caché de listados desactivada (app.cache.lists.enabled=false)");
+        }
+        // Las cachés desactivadas las resuelve NoOpCacheManager (no guarda nada)
+        managers.add(new NoOpCacheManager());
+
+        CompositeCacheManager composite = new CompositeCacheManager();
+        composite.setCacheManagers(managers);
+        return composite;
+    }
+
+    /**
+     * Caché local (Caffeine) de tareas por ID
+     */
+    private CacheManager taskCacheManager() {
+        log.info("Caché de tareas activada - tamaño máximo: {}, ttl: {}", maximumSize, ttl);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        // Declaramos las cachés por adelantado: Actuator registra sus métricas al
+        // arrancar y no se crean cachés "al vuelo" con nombres inesperados
+        cacheManager.setCacheNames(List.of(TASKS_CACHE));
+        // Nunca guardamos null (una tarea inexistente lanza TaskNotFoundException)
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    /**
+     * Cachés compartidas de listados (Redis o memoria, según app.cache.lists.backend)
+     */
+    private CacheManager listCacheManager(
+            SharedCacheBackend backend,
+            ListCacheGeneration generation,
+            ObjectMapper objectMapper
+    ) {
+        log.info("Caché de listados activada - ttl: {}", listsTtl);
+
+        TypeFactory types = objectMapper.getTypeFactory();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new GenerationalCache(TASK_PAGES_CACHE, backend, generation, objectMapper,
+                        types.constructParametricType(PageResponse.class, TaskResponse.class), listsTtl),
+                new GenerationalCache(TASK_SLICES_CACHE, backend, generation, objectMapper,
+                        types.constructParametricType(SliceResponse.class, TaskResponse.class), listsTtl)
+        ));
+        // No es un @Bean, así que lo inicializamos nosotros
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+}
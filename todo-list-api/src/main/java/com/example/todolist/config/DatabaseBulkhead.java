@@ -0,0 +1,145 @@
+package com.example.todolist.config;
+
+import com.example.todolist.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BULKHEAD DE BASE DE DATOS
+ * =========================
+ *
+ * Limita cuántas llamadas a la base de datos pueden ejecutarse a la vez:
+ * todos los métodos públicos de TaskService, la exportación
+ * (TaskExportService.export) y la carga de una importación
+ * (TaskImportService.load).
+ *
+ * ¿Por qué es necesario?
+ * ----------------------
+ * Con hilos virtuales (perfil 'virtual-threads') Tomcat ya no tiene un límite
+ * de 200 hilos: puede haber miles de peticiones en curso. Pero el pool de
+ * Hikari solo tiene 10 conexiones, así que todas esas peticiones se quedarían
+ * bloqueadas dentro de Hikari hasta su connection-timeout (30 segundos).
+ *
+ * El bulkhead reparte un número fijo de permisos (por defecto, tantos como
+ * conexiones tiene el pool):
+ * - Si hay un permiso libre, la llamada entra y abre su transacción.
+ * - Si no, espera como máximo 'max-wait' (2 segundos por defecto).
+ * - Si tras esa espera sigue sin permiso, se responde 503 Service Unavailable
+ *   enseguida, en lugar de dejar al cliente colgado 30 segundos.
+ *
+ * Orden respecto a caché y transacciones:
+ * ---------------------------------------
+ *   @Cacheable  ->  bulkhead  ->  @Transactional  ->  método
+ *
+ * Los aciertos de caché no consumen permiso (no tocan la base de datos) y la
+ * conexión solo se pide a Hikari cuando ya se tiene el permiso.
+ *
+ * Exportación e importación:
+ * --------------------------
+ * Ocupan una conexión durante minutos, así que también ocupan un permiso
+ * durante minutos: el bulkhead cuenta las conexiones que de verdad están en
+ * uso. La subida del fichero de una importación (TaskImportService.stage)
+ * no toca la base de datos y no consume permiso; solo lo hace el COPY.
+ *
+ * Métricas (en /actuator/metrics):
+ * --------------------------------
+ * - db.bulkhead.available: permisos libres en este momento
+ * - db.bulkhead.waiting:   llamadas esperando un permiso
+ * - db.bulkhead.wait:      tiempo de espera hasta conseguir el permiso
+ * - db.bulkhead.rejected:  llamadas rechazadas con 503
+ *
+ * Configuración en application.yml:
+ * ---------------------------------
+ * app:
+ *   bulkhead:
+ *     enabled: true
+ *     max-concurrent: 10
+ *     max-wait: 2s
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public DatabaseBulkhead(
+            @Value("${app.bulkhead.max-concurrent:10}") int maxConcurrent,
+            @Value("${app.bulkhead.max-wait:2s}") Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        // fair = true: los permisos se conceden por orden de llegada
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWait = maxWait;
+
+        Gauge.builder("db.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Permisos libres del bulkhead de base de datos")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Llamadas esperando un permiso del bulkhead")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("db.bulkhead.wait")
+                .description("Tiempo de espera hasta obtener un permiso del bulkhead")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("db.bulkhead.rejected")
+                .description("Llamadas rechazadas por el bulkhead (503)")
+                .register(meterRegistry);
+
+        log.info("Bulkhead de base de datos activo: {} llamadas concurrentes, espera máxima {}",
+                maxConcurrent, maxWait);
+    }
+
+    /**
+     * Envuelve cada método público de TaskService, la exportación y la carga
+     * de una importación
+     */
+    @Around("execution(public * com.example.todolist.service.TaskService.*(..))"
+            + " || execution(public * com.example.todolist.service.TaskExportService.export(..))"
+            + " || execution(public * com.example.todolist.service.TaskImportService.load(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        acquire(joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire(String operation) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            log.warn("Bulkhead lleno: se rechaza {} tras esperar {}", operation, maxWait);
+            throw new ServiceBusyException();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todolist.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * CONFIGURACIÓN DE MÉTRICAS
+ * =========================
+ *
+ * Spring Boot ya mide cada petición HTTP en la métrica http.server.requests,
+ * con las etiquetas method, uri, status y outcome. Pero varios métodos de
+ * TaskController comparten URI (por ejemplo, GET /api/v1/tasks sirve tanto
+ * la paginación por offset como por cursor), y en los paneles es más cómodo
+ * filtrar directamente por el método Java.
+ *
+ * Esta configuración añade la etiqueta 'handler' con el nombre del método
+ * que atendió la petición:
+ *
+ *   http_server_requests_seconds_count{handler="TaskController.getAllTasks",...}
+ *
+ * Los histogramas y percentiles (p50, p95, p99) se activan en application.yml
+ * (management.metrics.distribution).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Valor de la etiqueta cuando ningún controlador atendió la petición
+     * (404 de rutas inexistentes, recursos estáticos, etc.)
+     */
+    private static final String NO_HANDLER = "none";
+
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler",
+                    method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return KeyValue.of("handler", NO_HANDLER);
+    }
+}
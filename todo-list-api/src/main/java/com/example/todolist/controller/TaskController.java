@@ -1,9 +1,22 @@
 package com.example.todolist.controller;
 
 import com.example.todolist.dto.ApiResponse;
+import com.example.todolist.dto.BatchCreateResponse;
+import com.example.todolist.dto.BulkOperationResponse;
+import com.example.todolist.dto.BulkTaskRequest;
+import com.example.todolist.dto.CursorPageResponse;
+import com.example.todolist.dto.ImportResponse;
 import com.example.todolist.dto.PageResponse;
+import com.example.todolist.dto.SliceResponse;
+import com.example.todolist.dto.TaskChangesResponse;
 import com.example.todolist.dto.TaskRequest;
 import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.dto.TaskStatsResponse;
+import com.example.todolist.events.TaskEventBroadcaster;
+import com.example.todolist.service.TaskExportService;
+import com.example.todolist.service.TaskFileFormat;
+import com.example.todolist.service.TaskImportService;
+import com.example.todolist.service.TaskListVersion;
 import com.example.todolist.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,15 +25,27 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * CONTROLADOR REST DE TAREAS
@@ -41,8 +66,44 @@ import java.util.UUID;
 @Tag(name = "Tareas", description = "API para gestión de tareas del To-Do List")
 public class TaskController {
 
+    /**
+     * Valores aceptados por el parámetro 'pagination' de GET /api/v1/tasks
+     */
+    private static final String PAGINATION_OFFSET = "offset";
+    private static final String PAGINATION_CURSOR = "cursor";
+
+    /**
+     * Número máximo de tareas por petición en POST /api/v1/tasks/batch
+     */
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Número máximo de cambios por página en GET /api/v1/tasks/changes
+     */
+    private static final int MAX_CHANGES_SIZE = 1_000;
+
     private final TaskService taskService;
 
+    /**
+     * Exportación de todas las tareas (GET /api/v1/tasks/export)
+     */
+    private final TaskExportService taskExportService;
+
+    /**
+     * Importación masiva con COPY (POST /api/v1/tasks/import)
+     */
+    private final TaskImportService taskImportService;
+
+    /**
+     * Versión de los listados, usada como ETag de GET /api/v1/tasks
+     */
+    private final TaskListVersion taskListVersion;
+
+    /**
+     * Suscriptores de GET /api/v1/tasks/events
+     */
+    private final TaskEventBroadcaster taskEventBroadcaster;
+
     /**
      * CREAR TAREA
      */
@@ -121,6 +182,119 @@ public class TaskController {
                 .body(ApiResponse.success("Tarea creada exitosamente", createdTask));
     }
 
+    /**
+     * CREAR TAREAS EN LOTE
+     */
+    @Operation(
+            summary = "Crear muchas tareas a la vez",
+            description = """
+                    Crea hasta 10.000 tareas en una sola petición y una sola transacción.
+
+                    - Cada elemento se valida con las mismas reglas que la creación individual
+                    - Los elementos inválidos se rechazan; los válidos se crean igualmente
+                    - La respuesta indica, elemento por elemento, el ID creado o los errores
+                    """
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchCreateResponse>> createTasks(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Lista de tareas a crear",
+                    required = true
+            )
+            @RequestBody List<TaskRequest> requests
+    ) {
+        log.info("POST /api/v1/tasks/batch - Creando {} tareas", requests.size());
+
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("El lote debe contener entre 1 y " + MAX_BATCH_SIZE + " tareas"));
+        }
+
+        BatchCreateResponse result = taskService.createTasks(requests);
+        if (result.getCreated() == 0) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.<BatchCreateResponse>builder()
+                            .success(false)
+                            .message("Ninguna tarea del lote es válida")
+                            .data(result)
+                            .timestamp(Instant.now())
+                            .build());
+        }
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(
+                        String.format("%d tareas creadas, %d rechazadas", result.getCreated(), result.getRejected()),
+                        result));
+    }
+
+    /**
+     * IMPORTAR TAREAS DESDE UN FICHERO
+     */
+    @Operation(
+            summary = "Importar tareas desde un fichero NDJSON o CSV",
+            description = """
+                    Carga masiva para migraciones: millones de tareas en una sola petición.
+                    El cuerpo de la petición es el propio fichero (no multipart), en el mismo
+                    formato que genera GET /api/v1/tasks/export, con su Content-Type
+                    (`application/x-ndjson`, `text/csv`, `application/gzip` u `application/octet-stream`):
+
+                    `curl -X POST -H "Content-Type: application/x-ndjson" --data-binary @tasks.ndjson "http://localhost:8080/api/v1/tasks/import"`
+
+                    - Cada registro se valida con las mismas reglas que la creación individual
+                    - Los registros inválidos se rechazan; la respuesta detalla los primeros 100
+                    - Las tareas reciben IDs nuevos (los IDs del fichero se ignoran)
+                    - Ningún registro puede superar 8192 caracteres; si uno lo hace, se responde 400 sin seguir leyendo
+                    - Todo se importa en una transacción: si el fichero está corrupto, no se importa nada
+                    """
+    )
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv", "application/gzip",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ApiResponse<ImportResponse>> importTasks(
+            @Parameter(description = "Formato del fichero: ndjson o csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+
+            @Parameter(description = "El fichero está comprimido con gzip")
+            @RequestParam(defaultValue = "false") boolean gzip,
+
+            HttpServletRequest request
+    ) throws IOException {
+        log.info("POST /api/v1/tasks/import - format={}, gzip={}", format, gzip);
+
+        TaskFileFormat importFormat = TaskFileFormat.fromName(format);
+        if (importFormat == null) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("Formato no soportado: '" + format + "'. Usa 'ndjson' o 'csv'"));
+        }
+
+        // El cuerpo se valida mientras llega y se guarda en un fichero temporal;
+        // la conexión a la BD solo se pide después, para el COPY
+        InputStream body = gzip ? new GZIPInputStream(request.getInputStream(), 8192) : request.getInputStream();
+        ImportResponse result;
+        try (TaskImportService.StagedImport staged = taskImportService.stage(importFormat, body)) {
+            result = taskImportService.load(staged);
+        }
+        if (result.getImported() == 0) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.<ImportResponse>builder()
+                            .success(false)
+                            .message("El fichero no contiene ninguna tarea válida")
+                            .data(result)
+                            .timestamp(Instant.now())
+                            .build());
+        }
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(
+                        String.format("%d tareas importadas, %d rechazadas", result.getImported(), result.getRejected()),
+                        result));
+    }
+
     /**
      * LISTAR TAREAS
      */
@@ -131,15 +305,32 @@ public class TaskController {
 
                     **Filtros disponibles:**
                     - `completed`: Filtrar por estado (true = completadas, false = pendientes)
-                    - `q`: Buscar texto en título y descripción (case-insensitive)
+                    - `q`: Buscar texto en título y descripción (case-insensitive, por prefijo de palabra).
+                      Los resultados se ordenan por relevancia: las coincidencias en el título van primero
 
-                    **Paginación:**
+                    **Paginación por número de página (por defecto):**
                     - `page`: Número de página (comienza en 0)
                     - `size`: Cantidad de elementos por página (máximo 100)
+                    - `withTotal`: Con `false` se omiten `totalElements` y `totalPages` (evita un `COUNT(*)`);
+                      sin filtros se incluye `estimatedTotalElements`, un total aproximado
+
+                    **Paginación por cursor (`pagination=cursor`):**
+                    - Recomendada para recorrer listas grandes: cualquier página cuesta lo mismo que la primera
+                    - La respuesta incluye `nextCursor` y `previousCursor`; envíalos en `cursor` para navegar
+                    - Admite el filtro `completed`, pero no la búsqueda `q`
+
+                    **Listados de solo títulos:**
+                    - `includeDescription=false` omite `description` de cada tarea (hasta 2000 caracteres).
+                      Respuestas más pequeñas y consultas más baratas cuando el cliente solo muestra títulos
+
+                    **Peticiones condicionales:**
+                    - La respuesta incluye `ETag` y `Last-Modified`
+                    - Si envías `If-None-Match` (o `If-Modified-Since`) y ninguna tarea ha cambiado
+                      desde entonces, se responde `304 Not Modified` sin cuerpo y sin consultar la base de datos
                     """
     )
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<TaskResponse>>> getAllTasks(
+    public ResponseEntity<ApiResponse<?>> getAllTasks(
             @Parameter(description = "Filtrar por estado de completado", example = "false")
             @RequestParam(required = false) Boolean completed,
 
@@ -150,18 +341,198 @@ public class TaskController {
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Cantidad de elementos por página (máximo 100)", example = "10")
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Incluir totalElements/totalPages (false evita contar todas las tareas)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal,
+
+            @Parameter(description = "Modo de paginación: 'offset' (por número de página) o 'cursor'", example = "offset")
+            @RequestParam(defaultValue = PAGINATION_OFFSET) String pagination,
+
+            @Parameter(description = "Cursor opaco devuelto en nextCursor/previousCursor (activa la paginación por cursor)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Incluir la descripción de cada tarea (false = solo títulos y estado)", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeDescription,
+
+            WebRequest webRequest
     ) {
-        log.info("GET /api/v1/tasks - completed={}, q='{}', page={}, size={}", completed, q, page, size);
+        log.info("GET /api/v1/tasks - completed={}, q='{}', page={}, size={}, withTotal={}, pagination={}, includeDescription={}",
+                completed, q, page, size, withTotal, pagination, includeDescription);
 
         if (size > 100) size = 100;
         if (size < 1) size = 10;
         if (page < 0) page = 0;
 
-        PageResponse<TaskResponse> tasks = taskService.getAllTasks(completed, q, page, size);
+        boolean cursorMode = PAGINATION_CURSOR.equalsIgnoreCase(pagination) || cursor != null;
+        if (cursorMode && q != null && !q.isBlank()) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("La paginación por cursor no admite el parámetro 'q'"));
+        }
+
+        // Si ninguna tarea ha cambiado desde la versión que tiene el cliente,
+        // Spring prepara la respuesta 304 y no hace falta leer las tareas.
+        // checkNotModified también añade ETag y Last-Modified a la respuesta 200.
+        Instant lastModified = taskListVersion.lastModified();
+        if (webRequest.checkNotModified(listETag(), lastModified != null ? lastModified.toEpochMilli() : -1)) {
+            return null;
+        }
+
+        if (cursorMode) {
+            CursorPageResponse<TaskResponse> tasks = taskService.getTasksByCursor(completed, cursor, includeDescription, size);
+            return ResponseEntity.ok(ApiResponse.success("Tareas obtenidas exitosamente", tasks));
+        }
+
+        if (!withTotal) {
+            SliceResponse<TaskResponse> tasks = taskService.getAllTasksWithoutTotal(completed, q, includeDescription, page, size);
+            return ResponseEntity.ok(ApiResponse.success("Tareas obtenidas exitosamente", tasks));
+        }
+
+        PageResponse<TaskResponse> tasks = taskService.getAllTasks(completed, q, includeDescription, page, size);
         return ResponseEntity.ok(ApiResponse.success("Tareas obtenidas exitosamente", tasks));
     }
 
+    /**
+     * ESTADÍSTICAS
+     */
+    @Operation(
+            summary = "Obtener el número de tareas",
+            description = """
+                    Devuelve el número total de tareas, las completadas y las pendientes.
+                    Los contadores se mantienen al día en la base de datos con cada cambio,
+                    así que la consulta es igual de rápida con 10 tareas que con millones.
+                    """
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<TaskStatsResponse>> getStats() {
+        log.info("GET /api/v1/tasks/stats - Obteniendo estadísticas");
+
+        TaskStatsResponse stats = taskService.getStats();
+        return ResponseEntity.ok(ApiResponse.success("Estadísticas obtenidas exitosamente", stats));
+    }
+
+    /**
+     * SINCRONIZACIÓN INCREMENTAL
+     */
+    @Operation(
+            summary = "Obtener los cambios desde la última sincronización",
+            description = """
+                    Devuelve solo las tareas creadas, modificadas o eliminadas desde la última
+                    sincronización, para que los clientes no tengan que descargar la lista completa.
+
+                    **Uso:**
+                    1. Primera vez: llama sin `since` (se devuelven todas las tareas)
+                    2. Inserta o reemplaza por ID las tareas de `changed` y borra los IDs de `deleted`
+                    3. Guarda `nextToken` y envíalo en `since` la próxima vez
+                    4. Si `hasMore` es `true`, pide la siguiente página enseguida
+
+                    Algún cambio puede llegar repetido en dos sincronizaciones, pero nunca se pierde ninguno.
+                    Si recibes 400 por un token inválido, descártalo y vuelve a empezar sin `since`.
+                    """
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<TaskChangesResponse>> getChanges(
+            @Parameter(description = "Token 'nextToken' de la sincronización anterior (vacío = todas las tareas)")
+            @RequestParam(required = false) String since,
+
+            @Parameter(description = "Número máximo de cambios por página (máximo 1000)", example = "500")
+            @RequestParam(defaultValue = "500") int size
+    ) {
+        log.info("GET /api/v1/tasks/changes - since='{}', size={}", since, size);
+
+        if (size > MAX_CHANGES_SIZE) size = MAX_CHANGES_SIZE;
+        if (size < 1) size = 500;
+
+        TaskChangesResponse changes = taskService.getChangesSince(since, size);
+        return ResponseEntity.ok(ApiResponse.success("Cambios obtenidos exitosamente", changes));
+    }
+
+    /**
+     * EVENTOS EN TIEMPO REAL (SSE)
+     */
+    @Operation(
+            summary = "Recibir los cambios de tareas en tiempo real",
+            description = """
+                    Abre una conexión Server-Sent Events que permanece abierta. Cada vez que se crea,
+                    modifica, alterna o elimina una tarea llega un evento `task-change`:
+
+                    `{ "type": "created", "id": "..." }`
+
+                    **Tipos:** `created`, `updated`, `toggled`, `deleted`, `bulk-<operación>`
+                    (con `affected`) y `resync`.
+
+                    Los eventos solo indican QUÉ cambió: para obtener los datos usa
+                    GET /api/v1/tasks/changes. Si recibes `resync` o se corta la conexión,
+                    sincroniza con ese mismo endpoint, porque se pueden haber perdido eventos.
+
+                    Devuelve 404 si los eventos están desactivados en el servidor
+                    (`app.events.enabled`) y 503 si ya tiene el máximo de suscriptores.
+                    """
+    )
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents() {
+        log.debug("GET /api/v1/tasks/events - nuevo suscriptor");
+        return taskEventBroadcaster.subscribe();
+    }
+
+    /**
+     * EXPORTAR TODAS LAS TAREAS
+     */
+    @Operation(
+            summary = "Exportar todas las tareas",
+            description = """
+                    Descarga todas las tareas en una sola petición, en formato NDJSON (un objeto
+                    JSON por línea) o CSV. Pensado para copias de seguridad y migraciones: la lista
+                    paginada devuelve como máximo 100 tareas por petición.
+
+                    La respuesta se genera a medida que se leen las filas, así que empieza a llegar
+                    enseguida y el servidor no carga las tareas en memoria.
+
+                    Con `gzip=true` se descarga comprimida (`tasks.ndjson.gz` o `tasks.csv.gz`).
+                    """
+    )
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTasks(
+            @Parameter(description = "Formato: ndjson o csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+
+            @Parameter(description = "Filtrar por estado de completado")
+            @RequestParam(required = false) Boolean completed,
+
+            @Parameter(description = "Comprimir la descarga con gzip")
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        log.info("GET /api/v1/tasks/export - format={}, completed={}, gzip={}", format, completed, gzip);
+
+        TaskFileFormat exportFormat = TaskFileFormat.fromName(format);
+        if (exportFormat == null) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("Formato no soportado: '" + format + "'. Usa 'ndjson' o 'csv'"));
+        }
+
+        // El cuerpo se escribe después, en un hilo aparte, mientras se envía la respuesta.
+        // taskExportService abre su propia transacción en ese hilo.
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                taskExportService.export(exportFormat, completed, gzipOut);
+                // finish escribe el final del gzip sin cerrar 'out'
+                gzipOut.finish();
+            } else {
+                taskExportService.export(exportFormat, completed, out);
+            }
+        };
+
+        String filename = "tasks." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     /**
      * OBTENER TAREA POR ID
      */
@@ -174,6 +545,10 @@ public class TaskController {
                     responseCode = "200",
                     description = "Tarea encontrada"
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "La tarea no ha cambiado desde el ETag (If-None-Match) o la fecha (If-Modified-Since) enviados"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Tarea no encontrada",
@@ -194,10 +569,18 @@ public class TaskController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TaskResponse>> getTaskById(
             @Parameter(description = "UUID de la tarea", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
-            @PathVariable UUID id
+            @PathVariable UUID id,
+
+            WebRequest webRequest
     ) {
         log.info("GET /api/v1/tasks/{} - Obteniendo tarea", id);
         TaskResponse task = taskService.getTaskById(id);
+
+        // La tarea suele venir de la caché, así que un 304 no toca la BD
+        // ni serializa el cuerpo
+        if (webRequest.checkNotModified(taskETag(task), task.getUpdatedAt().toEpochMilli())) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success("Tarea encontrada", task));
     }
 
@@ -267,4 +650,128 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.ok(ApiResponse.success("Tarea eliminada exitosamente"));
     }
+
+    // =========================================================================
+    // OPERACIONES MASIVAS
+    // =========================================================================
+    // Todas reciben un BulkTaskRequest con una lista de IDs o con un filtro
+    // (mismos criterios 'completed' y 'q' que el listado) y responden con el
+    // número de tareas afectadas.
+    // =========================================================================
+
+    /**
+     * COMPLETAR TAREAS EN LOTE
+     */
+    @Operation(
+            summary = "Marcar muchas tareas como completadas",
+            description = """
+                    Marca como completadas las tareas indicadas por `ids` o por `filter`.
+
+                    Ejemplo "marcar todo como hecho": `{ "filter": { "completed": false } }`
+                    """
+    )
+    @PatchMapping("/bulk/complete")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkComplete(
+            @Valid @RequestBody BulkTaskRequest request
+    ) {
+        log.info("PATCH /api/v1/tasks/bulk/complete - Completando tareas en lote");
+        BulkOperationResponse result = taskService.bulkSetCompleted(request, true);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getAffected() + " tareas marcadas como completadas", result));
+    }
+
+    /**
+     * REABRIR TAREAS EN LOTE
+     */
+    @Operation(
+            summary = "Marcar muchas tareas como pendientes",
+            description = "Marca como pendientes las tareas indicadas por `ids` o por `filter`."
+    )
+    @PatchMapping("/bulk/reopen")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkReopen(
+            @Valid @RequestBody BulkTaskRequest request
+    ) {
+        log.info("PATCH /api/v1/tasks/bulk/reopen - Reabriendo tareas en lote");
+        BulkOperationResponse result = taskService.bulkSetCompleted(request, false);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getAffected() + " tareas marcadas como pendientes", result));
+    }
+
+    /**
+     * ALTERNAR TAREAS EN LOTE
+     */
+    @Operation(
+            summary = "Alternar el estado de muchas tareas",
+            description = "Alterna el estado `completed` de las tareas indicadas por `ids` o por `filter`."
+    )
+    @PatchMapping("/bulk/toggle")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkToggle(
+            @Valid @RequestBody BulkTaskRequest request
+    ) {
+        log.info("PATCH /api/v1/tasks/bulk/toggle - Alternando tareas en lote");
+        BulkOperationResponse result = taskService.bulkToggle(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getAffected() + " tareas alternadas", result));
+    }
+
+    /**
+     * ELIMINAR TAREAS EN LOTE
+     *
+     * Usamos POST en lugar de DELETE porque muchos clientes y proxies
+     * no admiten un cuerpo en las peticiones DELETE.
+     */
+    @Operation(
+            summary = "Eliminar muchas tareas",
+            description = """
+                    Elimina de forma **permanente** las tareas indicadas por `ids` o por `filter`.
+
+                    Un filtro vacío (`{ "filter": {} }`) elimina TODAS las tareas, así que solo se
+                    acepta con `?confirm=all`; sin él se responde 400.
+                    """
+    )
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkDelete(
+            @Valid @RequestBody BulkTaskRequest request,
+
+            @Parameter(description = "Obligatorio ('all') si el filtro está vacío y se eliminan TODAS las tareas")
+            @RequestParam(required = false) String confirm
+    ) {
+        log.info("POST /api/v1/tasks/bulk/delete - Eliminando tareas en lote");
+
+        if (request.getFilter() != null && request.getFilter().isEmpty() && !"all".equals(confirm)) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("Un filtro vacío elimina TODAS las tareas. "
+                            + "Si es lo que quieres, repite la petición con ?confirm=all"));
+        }
+        BulkOperationResponse result = taskService.bulkDelete(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getAffected() + " tareas eliminadas", result));
+    }
+
+    // =========================================================================
+    // ETAGS
+    // =========================================================================
+
+    /**
+     * ETag de una tarea: cambia cada vez que cambia updatedAt
+     *
+     * Incluye los nanosegundos para distinguir dos cambios en el mismo
+     * milisegundo. Spring le añade las comillas ("...") al enviarlo.
+     */
+    private static String taskETag(TaskResponse task) {
+        Instant updatedAt = task.getUpdatedAt();
+        return task.getId() + "-" + updatedAt.getEpochSecond() + "." + updatedAt.getNano();
+    }
+
+    /**
+     * ETag de los listados: la versión actual de las tareas
+     *
+     * Cualquier cambio en cualquier tarea invalida todos los listados, así
+     * que no hace falta incluir los filtros ni la página: cada URL distinta
+     * tiene su propia copia en la caché del cliente.
+     */
+    private String listETag() {
+        return "tasks-" + taskListVersion.current();
+    }
 }
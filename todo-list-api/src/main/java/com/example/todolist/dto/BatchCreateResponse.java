@@ -0,0 +1,77 @@
+package com.example.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO DE RESPUESTA PARA LA CREACIÓN MASIVA DE TAREAS
+ * ==================================================
+ *
+ * Resume el resultado de POST /api/v1/tasks/batch e informa, elemento por
+ * elemento, qué tareas se crearon y cuáles se rechazaron (y por qué).
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "total": 3,
+ *   "created": 2,
+ *   "rejected": 1,
+ *   "results": [
+ *     { "index": 0, "success": true, "id": "550e8400-..." },
+ *     { "index": 1, "success": false, "errors": ["title: El título es obligatorio"] },
+ *     { "index": 2, "success": true, "id": "7c9e6679-..." }
+ *   ]
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+        name = "BatchCreateResponse",
+        description = "Resultado de la creación masiva de tareas"
+)
+public class BatchCreateResponse {
+
+    @Schema(description = "Número de elementos recibidos", example = "3")
+    private int total;
+
+    @Schema(description = "Número de tareas creadas", example = "2")
+    private int created;
+
+    @Schema(description = "Número de elementos rechazados por no ser válidos", example = "1")
+    private int rejected;
+
+    @Schema(description = "Resultado de cada elemento, en el mismo orden del request")
+    private List<ItemResult> results;
+
+    /**
+     * Resultado de un elemento del lote
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(name = "BatchItemResult", description = "Resultado de un elemento del lote")
+    public static class ItemResult {
+
+        @Schema(description = "Posición del elemento en el request (empieza en 0)", example = "0")
+        private int index;
+
+        @Schema(description = "Indica si la tarea se creó", example = "true")
+        private boolean success;
+
+        @Schema(description = "ID de la tarea creada (solo si success=true)",
+                example = "550e8400-e29b-41d4-a716-446655440000")
+        private UUID id;
+
+        @Schema(description = "Errores de validación (solo si success=false)")
+        private List<String> errors;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.todolist.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * DTO DE RESPUESTA PARA OPERACIONES MASIVAS
+ * =========================================
+ *
+ * Informa de cuántas tareas se vieron afectadas por una operación masiva.
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "operation": "complete",
+ *   "affected": 42
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+        name = "BulkOperationResponse",
+        description = "Resultado de una operación masiva"
+)
+public class BulkOperationResponse {
+
+    @Schema(description = "Operación realizada (complete, reopen, toggle, delete)", example = "complete")
+    private String operation;
+
+    @Schema(description = "Número de tareas modificadas o eliminadas", example = "42")
+    private int affected;
+}
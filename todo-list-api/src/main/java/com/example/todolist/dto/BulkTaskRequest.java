@@ -0,0 +1,83 @@
+package com.example.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO DE REQUEST PARA OPERACIONES MASIVAS
+ * =======================================
+ *
+ * Indica sobre qué tareas se aplica una operación masiva (completar,
+ * reabrir, alternar o eliminar). Hay dos formas, excluyentes entre sí:
+ *
+ * 1. Por lista de IDs:
+ *    { "ids": ["550e8400-...", "7c9e6679-..."] }
+ *
+ * 2. Por filtro, con la misma semántica que GET /api/v1/tasks:
+ *    { "filter": { "completed": false, "q": "comprar" } }
+ *
+ *    Un filtro vacío ({ "filter": {} }) selecciona TODAS las tareas. Para
+ *    eliminarlas, POST /api/v1/tasks/bulk/delete exige además ?confirm=all.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+        name = "BulkTaskRequest",
+        description = "Tareas afectadas por una operación masiva: lista de IDs o filtro"
+)
+public class BulkTaskRequest {
+
+    @Schema(
+            description = "IDs de las tareas (máximo 10.000)",
+            example = "[\"550e8400-e29b-41d4-a716-446655440000\"]"
+    )
+    @Size(min = 1, max = 10_000, message = "La lista de IDs debe contener entre 1 y 10000 elementos")
+    private List<UUID> ids;
+
+    @Schema(description = "Filtro de tareas (mismos criterios que el listado)")
+    private Filter filter;
+
+    /**
+     * Regla de validación: hay que indicar 'ids' o 'filter', pero no ambos
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Indica 'ids' o 'filter', pero no ambos")
+    public boolean isTargetValid() {
+        return (ids != null) != (filter != null);
+    }
+
+    /**
+     * Filtro de tareas (ver GET /api/v1/tasks)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(name = "BulkTaskFilter", description = "Filtro de tareas para operaciones masivas")
+    public static class Filter {
+
+        @Schema(description = "Filtrar por estado de completado", example = "false")
+        private Boolean completed;
+
+        @Schema(description = "Buscar texto en título y descripción", example = "comprar")
+        private String q;
+
+        /**
+         * true si no filtra nada, es decir, si selecciona TODAS las tareas
+         */
+        @JsonIgnore
+        public boolean isEmpty() {
+            return completed == null && (q == null || q.isBlank());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.todolist.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO PARA RESPUESTAS PAGINADAS POR CURSOR
+ * ========================================
+ *
+ * Variante de PageResponse para la paginación por cursor (keyset).
+ *
+ * En lugar de números de página, cada respuesta incluye cursores opacos
+ * que el cliente envía tal cual para pedir la página siguiente o la anterior.
+ * No incluye totalElements ni totalPages: calcularlos obligaría a contar
+ * toda la tabla, que es justo lo que esta paginación quiere evitar.
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "content": [ ... ],
+ *   "size": 10,
+ *   "nextCursor": "TnwyMDI0LTAxLTE1VDEwOjMwOjAwWnw1NTBl...",
+ *   "previousCursor": "UHwyMDI0LTAxLTE1VDEwOjMwOjAwWnw1NTBl...",
+ *   "hasNext": true,
+ *   "hasPrevious": true
+ * }
+ *
+ * @param <T> El tipo de elementos en la página (ej: TaskResponse)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    /**
+     * Lista de elementos en la página actual
+     */
+    private List<T> content;
+
+    /**
+     * Cantidad máxima de elementos por página
+     */
+    private int size;
+
+    /**
+     * Cursor para pedir la página siguiente (null si no hay más)
+     */
+    private String nextCursor;
+
+    /**
+     * Cursor para pedir la página anterior (null si es la primera)
+     */
+    private String previousCursor;
+
+    /**
+     * ¿Hay una página siguiente?
+     */
+    private boolean hasNext;
+
+    /**
+     * ¿Hay una página anterior?
+     */
+    private boolean hasPrevious;
+}
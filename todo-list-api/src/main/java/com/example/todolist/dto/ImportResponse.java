@@ -0,0 +1,72 @@
+package com.example.todolist.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO DE RESPUESTA PARA LA IMPORTACIÓN DE TAREAS
+ * ==============================================
+ *
+ * Resume el resultado de POST /api/v1/tasks/import (y del modo de línea de
+ * comandos). A diferencia de BatchCreateResponse, no devuelve un resultado
+ * por cada tarea: un fichero puede tener millones de líneas. Solo se
+ * detallan las líneas rechazadas, y como mucho las primeras 100.
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "total": 1000000,
+ *   "imported": 999998,
+ *   "rejected": 2,
+ *   "rejectedLines": [
+ *     { "line": 17, "errors": ["title: El título es obligatorio"] },
+ *     { "line": 52, "errors": ["JSON no válido"] }
+ *   ],
+ *   "rejectedLinesTruncated": false
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+        name = "ImportResponse",
+        description = "Resultado de la importación de tareas"
+)
+public class ImportResponse {
+
+    @Schema(description = "Número de registros leídos del fichero", example = "1000000")
+    private long total;
+
+    @Schema(description = "Número de tareas importadas", example = "999998")
+    private long imported;
+
+    @Schema(description = "Número de registros rechazados por no ser válidos", example = "2")
+    private long rejected;
+
+    @Schema(description = "Detalle de las primeras líneas rechazadas")
+    private List<RejectedLine> rejectedLines;
+
+    @Schema(description = "true si hubo más líneas rechazadas de las que se detallan", example = "false")
+    private boolean rejectedLinesTruncated;
+
+    /**
+     * Línea rechazada y motivo
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(name = "ImportRejectedLine", description = "Línea rechazada del fichero importado")
+    public static class RejectedLine {
+
+        @Schema(description = "Número de línea en el fichero (empieza en 1)", example = "17")
+        private long line;
+
+        @Schema(description = "Errores de validación")
+        private List<String> errors;
+    }
+}
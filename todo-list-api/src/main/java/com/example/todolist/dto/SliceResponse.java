@@ -0,0 +1,102 @@
+package com.example.todolist.dto;
+
+import lombok.*;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO PARA RESPUESTAS PAGINADAS SIN TOTALES
+ * =========================================
+ *
+ * Variante de PageResponse que NO incluye totalElements ni totalPages.
+ *
+ * Para calcular los totales, Spring Data lanza un segundo SELECT count(*)
+ * en cada petición, que en tablas grandes cuesta más que la propia página.
+ * Un Slice en cambio pide size + 1 filas: si llega la fila extra, sabemos
+ * que hay más páginas sin contar nada.
+ *
+ * Si el cliente quiere una idea del tamaño de la lista, puede usar
+ * estimatedTotalElements: una estimación barata que PostgreSQL mantiene
+ * en sus estadísticas (solo disponible cuando no hay filtros).
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "content": [ ... ],
+ *   "page": 0,
+ *   "size": 10,
+ *   "first": true,
+ *   "last": false,
+ *   "estimatedTotalElements": 123400
+ * }
+ *
+ * @param <T> El tipo de elementos en la página (ej: TaskResponse)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SliceResponse<T> {
+
+    /**
+     * Lista de elementos en la página actual
+     */
+    private List<T> content;
+
+    /**
+     * Número de página actual (empieza en 0)
+     */
+    private int page;
+
+    /**
+     * Cantidad de elementos por página
+     */
+    private int size;
+
+    /**
+     * ¿Es la primera página?
+     */
+    private boolean first;
+
+    /**
+     * ¿Es la última página?
+     */
+    private boolean last;
+
+    /**
+     * Número aproximado de elementos (null si no se puede estimar)
+     */
+    private Long estimatedTotalElements;
+
+    /**
+     * Convierte un Slice de Spring Data a nuestro SliceResponse
+     *
+     * @param slice                  El Slice de Spring Data
+     * @param mapper                 Función para convertir cada elemento (ej: Task -> TaskResponse)
+     * @param estimatedTotalElements Total aproximado, o null si no se conoce
+     * @param <E>                    Tipo de la entidad original
+     * @param <T>                    Tipo del DTO de respuesta
+     * @return SliceResponse con los datos convertidos
+     */
+    public static <E, T> SliceResponse<T> fromSlice(
+            Slice<E> slice,
+            Function<E, T> mapper,
+            Long estimatedTotalElements
+    ) {
+        List<T> content = slice.getContent()
+                .stream()
+                .map(mapper)
+                .toList();
+
+        return SliceResponse.<T>builder()
+                .content(content)
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .estimatedTotalElements(estimatedTotalElements)
+                .build();
+    }
+}
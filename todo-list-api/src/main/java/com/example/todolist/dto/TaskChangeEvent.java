@@ -0,0 +1,71 @@
+package com.example.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * DTO DE EVENTO DE CAMBIO DE TAREAS
+ * =================================
+ *
+ * Se envía a los suscriptores de GET /api/v1/tasks/events cada vez que
+ * cambian las tareas. Viaja también como texto de las notificaciones de
+ * PostgreSQL (NOTIFY), que admiten como máximo 8000 bytes: por eso solo
+ * lleva el tipo de cambio y el ID, no la tarea completa.
+ *
+ * Ejemplos:
+ *   { "type": "created", "id": "018d0a1e-..." }
+ *   { "type": "deleted", "id": "018d0a1e-..." }
+ *   { "type": "bulk-complete", "affected": 42 }
+ *   { "type": "resync" }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeEvent {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String TOGGLED = "toggled";
+    public static final String DELETED = "deleted";
+
+    /**
+     * Se pueden haber perdido eventos (por ejemplo, tras reconectar con la
+     * base de datos): el cliente debe sincronizar con /api/v1/tasks/changes
+     */
+    public static final String RESYNC = "resync";
+
+    /**
+     * Se archivó una partición de tareas antiguas con detach_task_partition()
+     * (ver migración V7). Lo envía la propia base de datos, no TaskService.
+     */
+    public static final String ARCHIVED = "bulk-archive";
+
+    /**
+     * Importación de un CSV (ver TaskImportService). Con 'make import' llega
+     * de otra JVM, que puede no usar la misma caché de listados.
+     */
+    public static final String IMPORTED = "bulk-import";
+
+    @Schema(description = "Tipo de cambio: created, updated, toggled, deleted, bulk-<operación> o resync")
+    private String type;
+
+    @Schema(description = "ID de la tarea (solo en cambios de una tarea)")
+    private UUID id;
+
+    @Schema(description = "Número de tareas afectadas (solo en operaciones masivas)")
+    private Integer affected;
+
+    public static TaskChangeEvent of(String type, UUID id) {
+        return TaskChangeEvent.builder().type(type).id(id).build();
+    }
+
+    public static TaskChangeEvent bulk(String operation, int affected) {
+        return TaskChangeEvent.builder().type("bulk-" + operation).affected(affected).build();
+    }
+}
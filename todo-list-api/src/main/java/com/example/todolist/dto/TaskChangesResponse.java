@@ -0,0 +1,48 @@
+package com.example.todolist.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO PARA LA SINCRONIZACIÓN INCREMENTAL
+ * ======================================
+ *
+ * Respuesta de GET /api/v1/tasks/changes: lo que ha cambiado desde la
+ * última sincronización del cliente.
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "changed": [ { "id": "...", "title": "Tarea 1", ... } ],
+ *   "deleted": [ "550e8400-e29b-41d4-a716-446655440000" ],
+ *   "nextToken": "MTIzNHwwfDA",
+ *   "hasMore": false
+ * }
+ *
+ * Cómo debe usarla el cliente:
+ * 1. Insertar o reemplazar (por ID) cada tarea de 'changed'
+ * 2. Borrar de su copia local cada ID de 'deleted'
+ * 3. Guardar 'nextToken' y enviarlo en 'since' la próxima vez
+ * 4. Si 'hasMore' es true, pedir enseguida la siguiente página
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangesResponse {
+
+    @Schema(description = "Tareas creadas o modificadas (insertar o reemplazar por ID)")
+    private List<TaskResponse> changed;
+
+    @Schema(description = "IDs de las tareas eliminadas")
+    private List<UUID> deleted;
+
+    @Schema(description = "Token a enviar en 'since' en la siguiente petición")
+    private String nextToken;
+
+    @Schema(description = "¿Quedan más cambios? Si es true, pide la siguiente página ya")
+    private boolean hasMore;
+}
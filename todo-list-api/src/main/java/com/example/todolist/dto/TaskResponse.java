@@ -1,6 +1,7 @@
 package com.example.todolist.dto;
 
 import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskView;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -33,7 +34,7 @@ import java.util.UUID;
 public class TaskResponse {
 
     @Schema(
-            description = "Identificador único de la tarea (UUID v4)",
+            description = "Identificador único de la tarea (UUID v7, ordenado por fecha de creación)",
             example = "550e8400-e29b-41d4-a716-446655440000",
             accessMode = Schema.AccessMode.READ_ONLY
     )
@@ -91,4 +92,21 @@ public class TaskResponse {
                 .updatedAt(task.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * Convertir una fila de un listado nativo (proyección TaskView) a TaskResponse
+     *
+     * @param view La proyección devuelta por TaskRepository
+     * @return Un nuevo TaskResponse con los mismos datos
+     */
+    public static TaskResponse fromView(TaskView view) {
+        return TaskResponse.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .description(view.getDescription())
+                .completed(view.getCompleted())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
 }
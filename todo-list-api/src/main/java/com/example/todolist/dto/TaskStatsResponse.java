@@ -0,0 +1,38 @@
+package com.example.todolist.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * DTO DE RESPUESTA PARA LAS ESTADÍSTICAS DE TAREAS
+ * ================================================
+ *
+ * Números para un panel de resumen ("Tienes 5 tareas pendientes").
+ *
+ * Ejemplo de respuesta:
+ * {
+ *   "total": 42,
+ *   "completed": 30,
+ *   "pending": 12
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+        name = "TaskStatsResponse",
+        description = "Número de tareas totales, completadas y pendientes"
+)
+public class TaskStatsResponse {
+
+    @Schema(description = "Número total de tareas", example = "42")
+    private long total;
+
+    @Schema(description = "Tareas completadas", example = "30")
+    private long completed;
+
+    @Schema(description = "Tareas pendientes", example = "12")
+    private long pending;
+}
@@ -51,10 +51,12 @@ public class Task {
      * - No revelan información sobre la cantidad de registros
      * - Son más seguros en APIs públicas
      *
-     * @GeneratedValue con GenerationType.UUID genera el UUID automáticamente
+     * @TimeOrderedUuid genera un UUIDv7 (ordenado por fecha de creación) en
+     * lugar de uno aleatorio: los INSERT van siempre al final del índice de
+     * la clave primaria, que crece menos y se mantiene en caché.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -113,6 +115,16 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Número de cambio, para la sincronización incremental
+     *
+     * Lo asigna PostgreSQL con una secuencia y un trigger (migración V5) en
+     * cada INSERT y UPDATE; la aplicación nunca lo escribe.
+     * Ordena y pagina GET /api/v1/tasks/changes.
+     */
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
     /**
      * Método de conveniencia para alternar el estado completed
      *
@@ -0,0 +1,49 @@
+package com.example.todolist.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * ENTIDAD: LÁPIDA DE UNA TAREA ELIMINADA
+ * ======================================
+ *
+ * Cuando se elimina una tarea, un trigger de PostgreSQL (migración V5)
+ * guarda aquí su ID y un número de cambio. Así GET /api/v1/tasks/changes
+ * puede avisar a los clientes de que deben borrarla de su copia local.
+ *
+ * @Immutable: la aplicación solo lee esta tabla, nunca la modifica.
+ */
+@Entity
+@Table(name = "task_tombstones")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class TaskTombstone {
+
+    /**
+     * ID de la tarea eliminada
+     */
+    @Id
+    @Column(name = "task_id", nullable = false)
+    private UUID taskId;
+
+    /**
+     * Fecha y hora de la eliminación
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    /**
+     * Número de cambio de la eliminación (misma secuencia que tasks.change_seq)
+     */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+}
@@ -0,0 +1,29 @@
+package com.example.todolist.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ANOTACIÓN: ID UUID ORDENADO POR TIEMPO
+ * ======================================
+ *
+ * Se coloca sobre el campo @Id de una entidad para que Hibernate le asigne
+ * un UUIDv7 (ver UuidV7) en lugar de un UUID aleatorio:
+ *
+ *   @Id
+ *   @TimeOrderedUuid
+ *   private UUID id;
+ *
+ * @IdGeneratorType conecta la anotación con su generador. Para cambiar de
+ * estrategia basta con cambiar la anotación del campo (por ejemplo, volver a
+ * @GeneratedValue(strategy = GenerationType.UUID) para UUIDs aleatorios).
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
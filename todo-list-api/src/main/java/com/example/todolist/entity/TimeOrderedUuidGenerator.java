@@ -0,0 +1,39 @@
+package com.example.todolist.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * GENERADOR DE IDS PARA HIBERNATE (UUIDv7)
+ * ========================================
+ *
+ * Hibernate llama a este generador justo antes de cada INSERT para asignar
+ * el ID de la entidad. Se activa con la anotación @TimeOrderedUuid.
+ *
+ * Es un BeforeExecutionGenerator: el ID se calcula en Java, sin consultar
+ * la base de datos, así que no impide el envío de INSERT en lotes.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(
+            SharedSessionContractImplementor session,
+            Object owner,
+            Object currentValue,
+            EventType eventType
+    ) {
+        return UuidV7.next();
+    }
+
+    /**
+     * Solo generamos el ID al insertar, nunca al actualizar
+     */
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
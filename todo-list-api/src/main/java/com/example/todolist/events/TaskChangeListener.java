@@ -0,0 +1,276 @@
+package com.example.todolist.events;
+
+import com.example.todolist.cache.TaskIdFilter;
+import com.example.todolist.config.CacheConfig;
+import com.example.todolist.dto.TaskChangeEvent;
+import com.example.todolist.service.TaskListVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * ESCUCHA DE CAMBIOS (LISTEN)
+ * ===========================
+ *
+ * Mantiene UNA conexión dedicada a PostgreSQL suscrita al canal
+ * 'task_changes' (ver TaskChangeNotifier) y reparte cada notificación entre
+ * los suscriptores SSE a través de TaskEventBroadcaster. También mantiene
+ * al día el filtro de IDs de tareas (TaskIdFilter).
+ *
+ * Cada evento invalida además la caché de tareas por ID de ESTA réplica: el
+ * cambio puede venir de otra réplica (o de detach_task_partition(), sin
+ * pasar por TaskService), y sin esto se seguiría sirviendo la versión vieja
+ * hasta que caducara. Un evento de una tarea expulsa esa tarea; uno masivo
+ * (bulk-*) o un 'resync' vacía la caché entera.
+ *
+ * Por el mismo motivo, cada evento sube la versión de los listados
+ * (TaskListVersion), que es su ETag: si no, esta réplica respondería 304 a
+ * un listado que ha cambiado en otra. Incluye 'bulk-archive', que envía
+ * detach_task_partition() sin pasar por TaskService.
+ *
+ * ¿Por qué una conexión propia y no una del pool (HikariCP)?
+ * ----------------------------------------------------------
+ * LISTEN solo funciona mientras la conexión siga abierta. Una conexión del
+ * pool se devolvería (y se reutilizaría para otras consultas) o quedaría
+ * ocupada para siempre, restando una de las 10 disponibles. Esta conexión
+ * se abre con los mismos datos (spring.datasource.*), pero fuera del pool.
+ *
+ * Reconexión:
+ * -----------
+ * Cada pocos segundos se hace una consulta para comprobar que la conexión
+ * responde: una conexión medio cerrada (por ejemplo, tras un corte de red)
+ * no da error mientras solo se esperan notificaciones. Si la conexión se
+ * pierde, el filtro de IDs deja de usarse en el acto y se reintenta cada
+ * pocos segundos. Las notificaciones enviadas mientras tanto se pierden, así
+ * que al reconectar se envía un evento 'resync' a todos los suscriptores
+ * para que se pongan al día con GET /api/v1/tasks/changes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskChangeListener implements SmartLifecycle {
+
+    /**
+     * Tiempo máximo de espera de notificaciones en cada vuelta del bucle.
+     * Cada vuelta confirma a TaskIdFilter que la conexión sigue viva, así que
+     * debe ser bastante menor que app.cache.task-ids.recent-window.
+     */
+    private static final int POLL_TIMEOUT_MS = 2_000;
+
+    /**
+     * Tiempo máximo sin respuesta del servidor antes de dar la conexión por
+     * perdida (una conexión medio cerrada no da error por sí sola)
+     */
+    private static final int NETWORK_TIMEOUT_MS = 10_000;
+
+    /**
+     * Consulta de cada vuelta: comprueba que la conexión responde y devuelve
+     * el inicio (en milisegundos) de la transacción de escritura más antigua
+     * en curso, o null si no hay ninguna (ver TaskIdFilter)
+     */
+    private static final String CHECK_SQL =
+            "SELECT CAST(EXTRACT(EPOCH FROM min(xact_start)) * 1000 AS BIGINT) FROM pg_stat_activity "
+            + "WHERE backend_xid IS NOT NULL AND datname = current_database()";
+
+    /**
+     * Pausa antes de reintentar la conexión
+     */
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final TaskEventBroadcaster broadcaster;
+    private final TaskIdFilter taskIdFilter;
+    private final TaskListVersion taskListVersion;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listenLoop, "task-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeConnection();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection conn = connect()) {
+                connection = conn;
+                log.info("Escuchando cambios de tareas en el canal '{}'", TaskChangeNotifier.CHANNEL);
+                TaskChangeEvent resync = TaskChangeEvent.builder().type(TaskChangeEvent.RESYNC).build();
+                if (reconnecting) {
+                    deliverSafely(resync);
+                } else {
+                    // La primera construcción del filtro pudo empezar antes del LISTEN
+                    taskIdFilter.onChange(resync);
+                }
+
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                try (PreparedStatement check = conn.prepareStatement(CHECK_SQL)) {
+                    while (running) {
+                        // Los avisos confirmados antes de la consulta llegan con su
+                        // respuesta o antes; al repartirlos, quedan todos entregados
+                        long checkedAt = System.currentTimeMillis();
+                        Long oldestWriteStart = oldestWriteStart(check);
+                        PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                dispatch(notification.getParameter());
+                            }
+                        }
+                        taskIdFilter.feedConfirmed(checkedAt, oldestWriteStart);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Un error inesperado se trata como una conexión perdida: al
+                // reconectar se envía 'resync' y nadie se queda con datos viejos
+                if (!running) {
+                    break;
+                }
+                taskIdFilter.connectionLost();
+                if (e instanceof SQLException) {
+                    log.warn("Conexión LISTEN perdida, reintentando en {} ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+                } else {
+                    log.error("Error inesperado escuchando cambios, reconectando en {} ms", RECONNECT_DELAY_MS, e);
+                }
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection conn = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+        conn.setAutoCommit(true);
+        try (Statement statement = conn.createStatement()) {
+            conn.setNetworkTimeout(Runnable::run, NETWORK_TIMEOUT_MS);
+            statement.execute("LISTEN " + TaskChangeNotifier.CHANNEL);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    private static Long oldestWriteStart(PreparedStatement check) throws SQLException {
+        try (ResultSet rs = check.executeQuery()) {
+            return rs.next() ? rs.getObject(1, Long.class) : null;
+        }
+    }
+
+    /**
+     * Una notificación trae un evento o, si la transacción hizo varios
+     * cambios, un array de eventos (ver TaskChangeNotifier)
+     */
+    private void dispatch(String payload) {
+        TaskChangeEvent[] events;
+        try {
+            events = payload.startsWith("[")
+                    ? objectMapper.readValue(payload, TaskChangeEvent[].class)
+                    : new TaskChangeEvent[]{objectMapper.readValue(payload, TaskChangeEvent.class)};
+        } catch (IOException e) {
+            log.warn("Notificación ignorada, contenido no válido: {}", payload);
+            return;
+        }
+        for (TaskChangeEvent event : events) {
+            deliverSafely(event);
+        }
+    }
+
+    /**
+     * Un fallo al repartir un evento no debe parar la escucha: se registra y
+     * se sigue con el siguiente. Como el evento pudo quedar a medias (por
+     * ejemplo, sin llegar al filtro de IDs), el filtro se reconstruye.
+     */
+    private void deliverSafely(TaskChangeEvent event) {
+        try {
+            deliver(event);
+        } catch (RuntimeException e) {
+            log.error("Error al repartir el evento '{}'; se sigue escuchando", event.getType(), e);
+            taskIdFilter.onChange(TaskChangeEvent.builder().type(TaskChangeEvent.RESYNC).build());
+        }
+    }
+
+    private void deliver(TaskChangeEvent event) {
+        // Cualquier evento (también 'resync') puede ser un cambio que esta
+        // réplica no ha visto: los listados ya no son los mismos
+        taskListVersion.remoteChanged(event);
+        evictCachedTasks(event);
+        taskIdFilter.onChange(event);
+        broadcaster.broadcast(event);
+    }
+
+    /**
+     * Los cambios hechos por esta misma réplica también llegan aquí: expulsar
+     * la tarea recién guardada con @CachePut solo cuesta un fallo de caché
+     */
+    private void evictCachedTasks(TaskChangeEvent event) {
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (tasks == null) {
+            return;
+        }
+        if (event.getId() != null) {
+            tasks.evict(event.getId());
+        } else {
+            tasks.clear();
+        }
+    }
+
+    private void closeConnection() {
+        Connection conn = connection;
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            log.debug("Error al cerrar la conexión LISTEN", e);
+        }
+    }
+}
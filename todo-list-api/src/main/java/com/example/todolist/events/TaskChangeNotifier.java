@@ -0,0 +1,157 @@
+package com.example.todolist.events;
+
+import com.example.todolist.dto.TaskChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PUBLICADOR DE CAMBIOS (NOTIFY)
+ * ==============================
+ *
+ * TaskService lo llama en cada escritura. Envía una notificación de
+ * PostgreSQL (pg_notify) por el canal 'task_changes'.
+ *
+ * ¿Por qué NOTIFY y no avisar directamente a los suscriptores?
+ * ------------------------------------------------------------
+ * - NOTIFY es transaccional: PostgreSQL solo entrega la notificación si la
+ *   transacción hace commit, y la descarta si hay rollback. No hace falta
+ *   ningún mecanismo adicional de "después del commit".
+ * - Llega a TODAS las instancias de la aplicación conectadas a la misma base
+ *   de datos, no solo a la que hizo el cambio.
+ *
+ * Un NOTIFY por transacción:
+ * --------------------------
+ * publish() no envía nada en el momento: acumula los eventos de la
+ * transacción en curso y los envía todos juntos justo antes del commit, en
+ * una sola sentencia (un array JSON si hay más de uno). Sigue siendo parte
+ * de la transacción, por la misma conexión (JdbcTemplate participa en la
+ * transacción de JPA).
+ *
+ * Coste (por eso los eventos son opcionales, app.events.enabled):
+ * ---------------------------------------------------------------
+ * - Una ida y vuelta más a la base de datos por cada escritura.
+ * - Al confirmar, toda transacción que haya hecho NOTIFY toma un bloqueo
+ *   GLOBAL de la base de datos para escribir en la cola de notificaciones.
+ *   Los commits de escritura quedan en fila india durante ese instante; con
+ *   muchas escrituras concurrentes se nota en la latencia.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeNotifier {
+
+    /**
+     * Canal de PostgreSQL por el que viajan los cambios
+     */
+    public static final String CHANNEL = "task_changes";
+
+    /**
+     * Tamaño máximo del contenido de una notificación. PostgreSQL admite
+     * menos de 8000 bytes; si los eventos de una transacción no caben, se
+     * reparten en varias notificaciones (en la misma sentencia).
+     */
+    static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.events.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Publica un cambio; se entregará cuando la transacción actual confirme
+     */
+    public void publish(TaskChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sin transacción la sentencia se confirma sola: se envía ya
+            send(List.of(toJson(event)));
+            return;
+        }
+
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(toJson(event));
+    }
+
+    /**
+     * Agrupar los eventos en notificaciones de MAX_PAYLOAD_BYTES como mucho
+     * y enviarlas en una sola sentencia
+     */
+    private void send(List<String> events) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        int payloadBytes = 0;
+        int count = 0;
+        for (String event : events) {
+            int eventBytes = event.getBytes(StandardCharsets.UTF_8).length;
+            if (count > 0 && payloadBytes + eventBytes + 2 > MAX_PAYLOAD_BYTES) {
+                payloads.add(count == 1 ? payload.toString() : "[" + payload + "]");
+                payload.setLength(0);
+                payloadBytes = 0;
+                count = 0;
+            }
+            if (count > 0) {
+                payload.append(',');
+            }
+            payload.append(event);
+            payloadBytes += eventBytes + 1;
+            count++;
+        }
+        payloads.add(count == 1 ? payload.toString() : "[" + payload + "]");
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        Object[] args = new Object[payloads.size() * 2];
+        for (int i = 0; i < payloads.size(); i++) {
+            sql.append(i == 0 ? "pg_notify(?, ?)" : ", pg_notify(?, ?)");
+            args[2 * i] = CHANNEL;
+            args[2 * i + 1] = payloads.get(i);
+        }
+        jdbcTemplate.query(sql.toString(), rs -> null, args);
+    }
+
+    private String toJson(TaskChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + event.getType(), e);
+        }
+    }
+
+    /**
+     * Eventos de la transacción en curso. Los repetidos (la misma tarea
+     * modificada dos veces) se envían una sola vez.
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+        private final Set<String> events = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty()) {
+                send(new ArrayList<>(events));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeNotifier.this);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.todolist.events;
+
+import com.example.todolist.dto.TaskChangeEvent;
+import com.example.todolist.exception.EventsDisabledException;
+import com.example.todolist.exception.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DIFUSIÓN DE EVENTOS A LOS SUSCRIPTORES (SSE)
+ * ============================================
+ *
+ * Mantiene la lista de clientes conectados a GET /api/v1/tasks/events y
+ * les reenvía cada cambio que recibe TaskChangeListener.
+ *
+ * ¿Cómo aguanta decenas de miles de suscriptores?
+ * -----------------------------------------------
+ * - SseEmitter usa peticiones asíncronas de Servlet: una conexión abierta
+ *   sin eventos no ocupa ningún hilo, solo un socket y unos pocos objetos.
+ * - Los eventos se escriben con un pool pequeño y fijo de hilos
+ *   (app.events.sender-threads), no con un hilo por suscriptor.
+ * - Cada suscriptor tiene una cola acotada (app.events.subscriber-buffer).
+ *   Difundir un evento solo lo añade a las colas, sin esperar a nadie.
+ * - Si un cliente lento llena su cola, se le desconecta. Al reconectar,
+ *   debe sincronizar con GET /api/v1/tasks/changes. Así un cliente lento
+ *   nunca retrasa a los demás ni hace crecer la memoria sin límite.
+ *
+ * Clientes que dejan de leer:
+ * ---------------------------
+ * emitter.send() escribe en el socket de forma BLOQUEANTE: si el cliente no
+ * lee (red caída, proceso congelado), el hilo se queda esperando hasta que
+ * Tomcat se rinde (su timeout de escritura, de decenas de segundos). Con
+ * unos pocos clientes así se ocuparían todos los hilos de envío y los demás
+ * suscriptores llenarían sus colas.
+ *
+ * Por eso un vigilante revisa cada poco los envíos en curso. Si uno pasa de
+ * app.events.send-timeout:
+ * - ese suscriptor se da por perdido (deja de recibir eventos y su conexión
+ *   se cierra en cuanto el envío termine), y
+ * - el pool de envío gana un hilo mientras ese envío siga bloqueado, de modo
+ *   que siempre quedan 'sender-threads' hilos libres para los demás (hasta
+ *   app.events.max-stalled-senders hilos extra).
+ *
+ * El SseEmitter solo se toca desde los hilos de envío: complete() espera a
+ * que acabe el send() en curso, y ni el vigilante ni el hilo que difunde los
+ * eventos (el de TaskChangeListener) deben quedarse esperando a un cliente.
+ *
+ * Métricas:
+ * ---------
+ * - sse.subscribers: suscriptores conectados
+ * - sse.subscribers.overflow: desconexiones por cola llena
+ * - sse.subscribers.stalled: desconexiones por un envío que no terminaba
+ */
+@Component
+@Slf4j
+public class TaskEventBroadcaster {
+
+    /**
+     * Nombre del evento SSE (el cliente lo escucha con addEventListener)
+     */
+    static final String EVENT_NAME = "task-change";
+
+    /**
+     * Marca de latido en las colas: se envía como comentario SSE
+     */
+    private static final String HEARTBEAT = "";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Suscriptores ya desconectados cuyo emitter aún no se ha cerrado (puede
+     * que porque su envío está bloqueado: el vigilante también los revisa)
+     */
+    private final Set<Subscriber> closing = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter overflowCounter;
+    private final Counter stalledCounter;
+
+    /**
+     * Hilos extra del pool de envío, uno por cada envío bloqueado
+     */
+    private int stalledSenders;
+
+    public TaskEventBroadcaster(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.enabled:false}") boolean enabled,
+            @Value("${app.events.max-subscribers:20000}") int maxSubscribers,
+            @Value("${app.events.subscriber-buffer:64}") int bufferSize,
+            @Value("${app.events.sender-threads:4}") int senderThreads,
+            @Value("${app.events.send-timeout:5s}") Duration sendTimeout,
+            @Value("${app.events.max-stalled-senders:64}") int maxStalledSenders,
+            @Value("${app.events.heartbeat:30s}") Duration heartbeatInterval,
+            @Value("${app.events.timeout:30m}") Duration timeout
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat.scheduleAtFixedRate(() -> enqueueAll(HEARTBEAT),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(100, sendTimeout.toMillis() / 2);
+        this.heartbeat.scheduleAtFixedRate(this::dropStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Suscriptores conectados a /api/v1/tasks/events")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("sse.subscribers.overflow")
+                .description("Suscriptores desconectados por tener la cola de eventos llena")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("sse.subscribers.stalled")
+                .description("Suscriptores desconectados porque un envío tardaba más de send-timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un nuevo suscriptor
+     *
+     * @return El SseEmitter que el controlador devuelve como respuesta
+     * @throws EventsDisabledException si los eventos están desactivados
+     * @throws ServiceBusyException    si ya se alcanzó el máximo de suscriptores
+     */
+    public SseEmitter subscribe() {
+        if (!enabled) {
+            // Sin NOTIFY no llegaría ningún evento: mejor decirlo que dejar la conexión muda
+            throw new EventsDisabledException();
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceBusyException();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Envía un evento a todos los suscriptores
+     *
+     * El evento se serializa una sola vez, sea cual sea el número de suscriptores.
+     */
+    public void broadcast(TaskChangeEvent event) {
+        try {
+            enqueueAll(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("No se pudo serializar el evento {}", event.getType(), e);
+        }
+    }
+
+    private void enqueueAll(String json) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(json)) {
+                // Cola llena: el cliente no da abasto. Lo desconectamos.
+                overflowCounter.increment();
+                close(subscriber);
+                continue;
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Deja de enviar eventos a un suscriptor y cierra su conexión desde un
+     * hilo de envío (ver "Clientes que dejan de leer")
+     */
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        closing.add(subscriber);
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * Programa el envío de la cola de un suscriptor (como mucho una tarea a la vez)
+     */
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            String json;
+            while (!subscriber.closed && (json = subscriber.queue.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                if (HEARTBEAT.equals(json)) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(EVENT_NAME)
+                            .data(json, MediaType.APPLICATION_JSON));
+                }
+                subscriber.sendStartedNanos = 0;
+            }
+            if (subscriber.closed && !subscriber.completed) {
+                subscriber.completed = true;
+                closing.remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // El cliente cerró la conexión (o el emitter ya estaba completado)
+            subscriber.closed = true;
+            subscriber.completed = true;
+            closing.remove(subscriber);
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            if (subscriber.compensated.getAndSet(false)) {
+                releaseSender();
+            }
+            subscriber.draining.set(false);
+        }
+        // Pudo llegar un evento (o un cierre) justo después de vaciar la cola
+        boolean pending = subscriber.closed
+                ? !subscriber.completed
+                : !subscriber.queue.isEmpty() && subscribers.contains(subscriber);
+        if (pending) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Vigilante: da por perdidos los suscriptores con un envío bloqueado más
+     * de send-timeout y añade un hilo al pool por cada uno
+     */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> checkStalled(subscriber, now));
+        // Uno desconectado por cola llena puede seguir bloqueando su hilo
+        closing.forEach(subscriber -> checkStalled(subscriber, now));
+    }
+
+    private void checkStalled(Subscriber subscriber, long now) {
+        long started = subscriber.sendStartedNanos;
+        if (started == 0 || now - started <= sendTimeoutNanos || subscriber.compensated.get()) {
+            return;
+        }
+        if (!subscriber.stalled) {
+            subscriber.stalled = true;
+            stalledCounter.increment();
+            close(subscriber);
+        }
+        addSender(subscriber);
+        // Si el envío terminó mientras tanto, drain() ya no verá el hilo extra
+        if (subscriber.sendStartedNanos == 0 && subscriber.compensated.getAndSet(false)) {
+            releaseSender();
+        }
+    }
+
+    private synchronized void addSender(Subscriber subscriber) {
+        if (stalledSenders >= maxStalledSenders) {
+            log.warn("Hay {} envíos SSE bloqueados; no se añaden más hilos de envío", stalledSenders);
+            return;
+        }
+        stalledSenders++;
+        subscriber.compensated.set(true);
+        // Al crecer se sube antes el máximo; al encoger, antes el núcleo
+        sender.setMaximumPoolSize(senderThreads + stalledSenders);
+        sender.setCorePoolSize(senderThreads + stalledSenders);
+    }
+
+    private synchronized void releaseSender() {
+        stalledSenders--;
+        sender.setCorePoolSize(senderThreads + stalledSenders);
+        sender.setMaximumPoolSize(senderThreads + stalledSenders);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        closing.clear();
+    }
+
+    /**
+     * Un cliente conectado y sus eventos pendientes
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Inicio (System.nanoTime) del envío en curso, o 0 si no hay ninguno
+         */
+        private volatile long sendStartedNanos;
+
+        /**
+         * Ya no debe recibir eventos; el hilo de envío cierra el emitter
+         */
+        private volatile boolean closed;
+        private volatile boolean completed;
+
+        /**
+         * El vigilante ya lo dio por perdido (solo lo escribe el vigilante)
+         */
+        private volatile boolean stalled;
+
+        /**
+         * Tiene asignado un hilo extra del pool mientras su envío siga
+         * bloqueado. Lo libera quien lo ponga a false: drain() o el vigilante.
+         */
+        private final AtomicBoolean compensated = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<String> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
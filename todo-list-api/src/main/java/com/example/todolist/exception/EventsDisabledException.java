@@ -0,0 +1,19 @@
+package com.example.todolist.exception;
+
+/**
+ * EXCEPCIÓN: EVENTOS DESACTIVADOS
+ * ===============================
+ *
+ * Se lanza al suscribirse a GET /api/v1/tasks/events cuando el servidor
+ * tiene los eventos desactivados (app.events.enabled=false): no se envían
+ * NOTIFY, así que el suscriptor nunca recibiría nada.
+ *
+ * El GlobalExceptionHandler la convierte en una respuesta 404 Not Found.
+ */
+public class EventsDisabledException extends RuntimeException {
+
+    public EventsDisabledException() {
+        super("Los eventos en tiempo real están desactivados en este servidor. "
+                + "Usa GET /api/v1/tasks/changes para sincronizar.");
+    }
+}
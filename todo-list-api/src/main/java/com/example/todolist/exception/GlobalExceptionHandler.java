@@ -2,6 +2,7 @@ package com.example.todolist.exception;
 
 import com.example.todolist.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -32,16 +33,89 @@ public class GlobalExceptionHandler {
 
     /**
      * Maneja: Tarea no encontrada (404)
+     *
+     * Es el único sitio donde se registra un 404 de tarea, y en DEBUG: los
+     * scrapers que prueban IDs al azar no deben llenar el log de WARN.
+     * El número de 404 se ve en http.server.requests (status=404).
      */
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleTaskNotFound(TaskNotFoundException ex) {
-        log.warn("Tarea no encontrada: {}", ex.getMessage());
+        log.debug("Tarea no encontrada: {}", ex.getTaskId());
 
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    /**
+     * Maneja: Cursor de paginación inválido (400)
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("Cursor inválido: {}", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Maneja: Texto de búsqueda no válido (400)
+     */
+    @ExceptionHandler(InvalidSearchException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidSearch(InvalidSearchException ex) {
+        log.debug("Búsqueda rechazada: {}", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Maneja: Token de sincronización inválido (400)
+     */
+    @ExceptionHandler(InvalidSyncTokenException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidSyncToken(InvalidSyncTokenException ex) {
+        log.warn("Token de sincronización inválido: {}", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Maneja: Fichero de importación inválido (400)
+     */
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidImportFile(InvalidImportFileException ex) {
+        log.warn("Fichero de importación inválido: {}", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Maneja: Eventos en tiempo real desactivados (404)
+     */
+    @ExceptionHandler(EventsDisabledException.class)
+    public ResponseEntity<ApiResponse<Void>> handleEventsDisabled(EventsDisabledException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Maneja: Bulkhead de base de datos lleno (503)
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusy(ServiceBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     /**
      * Maneja: Errores de validación de DTOs (400)
      */
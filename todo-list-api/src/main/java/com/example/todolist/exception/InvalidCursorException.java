@@ -0,0 +1,23 @@
+package com.example.todolist.exception;
+
+/**
+ * EXCEPCIÓN: CURSOR DE PAGINACIÓN INVÁLIDO
+ * ========================================
+ *
+ * Se lanza cuando el cliente envía un cursor que no podemos decodificar
+ * (fue modificado a mano, está truncado o pertenece a otra versión de la API).
+ *
+ * El GlobalExceptionHandler la convierte en una respuesta 400 Bad Request.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructor que recibe el cursor recibido y la causa original
+     *
+     * @param cursor El cursor enviado por el cliente
+     * @param cause  El error que se produjo al decodificarlo
+     */
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("El cursor de paginación no es válido: " + cursor, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todolist.exception;
+
+/**
+ * EXCEPCIÓN: FICHERO DE IMPORTACIÓN INVÁLIDO
+ * ==========================================
+ *
+ * Se lanza cuando el fichero de POST /api/v1/tasks/import no se puede leer
+ * en absoluto (por ejemplo, un CSV sin columna 'title' o con una comilla
+ * sin cerrar). Las líneas sueltas con datos no válidos NO lanzan esta
+ * excepción: se rechazan y se informa de ellas en la respuesta.
+ *
+ * El GlobalExceptionHandler la convierte en una respuesta 400 Bad Request.
+ * La importación se deshace por completo (no se guarda ninguna tarea).
+ */
+public class InvalidImportFileException extends RuntimeException {
+
+    /**
+     * Constructor que recibe el motivo
+     *
+     * @param message Descripción del problema
+     */
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.todolist.exception;
+
+/**
+ * EXCEPCIÓN: TEXTO DE BÚSQUEDA NO VÁLIDO
+ * ======================================
+ *
+ * Se lanza cuando el texto de búsqueda (?q= del listado, o 'q' en el filtro
+ * de una operación masiva) no contiene ninguna palabra y es demasiado corto
+ * para buscarlo como fragmento (por ejemplo, "#" o "%"). Una búsqueda así no
+ * puede usar ningún índice y recorrería todas las tareas.
+ *
+ * El GlobalExceptionHandler la convierte en una respuesta 400 Bad Request.
+ */
+public class InvalidSearchException extends RuntimeException {
+
+    /**
+     * Constructor que recibe el texto buscado y la longitud mínima
+     *
+     * @param search    Texto enviado por el cliente
+     * @param minLength Caracteres mínimos para buscarlo como fragmento
+     */
+    public InvalidSearchException(String search, int minLength) {
+        super("No se puede buscar '" + search + "': usa alguna palabra o al menos "
+                + minLength + " caracteres");
+    }
+}
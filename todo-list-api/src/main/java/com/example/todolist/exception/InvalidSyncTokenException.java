@@ -0,0 +1,24 @@
+package com.example.todolist.exception;
+
+/**
+ * EXCEPCIÓN: TOKEN DE SINCRONIZACIÓN INVÁLIDO
+ * ===========================================
+ *
+ * Se lanza cuando el parámetro 'since' de GET /api/v1/tasks/changes no es
+ * un token generado por la API (fue modificado a mano o está truncado).
+ *
+ * El GlobalExceptionHandler la convierte en una respuesta 400 Bad Request.
+ * El cliente debe descartar el token y hacer una sincronización completa.
+ */
+public class InvalidSyncTokenException extends RuntimeException {
+
+    /**
+     * Constructor que recibe el token recibido y la causa original
+     *
+     * @param token El token enviado por el cliente
+     * @param cause El error que se produjo al decodificarlo
+     */
+    public InvalidSyncTokenException(String token, Throwable cause) {
+        super("El token de sincronización no es válido: " + token, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.todolist.exception;
+
+/**
+ * EXCEPCIÓN: SERVICIO SATURADO
+ * ============================
+ *
+ * Se lanza cuando el bulkhead de base de datos (DatabaseBulkhead) no consigue
+ * un permiso libre dentro del tiempo de espera configurado.
+ *
+ * El GlobalExceptionHandler la convierte en una respuesta 503 Service
+ * Unavailable con la cabecera Retry-After, para que el cliente reintente.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException() {
+        super("El servicio está saturado. Por favor, reintenta en unos segundos.");
+    }
+}
@@ -20,6 +20,15 @@ import java.util.UUID;
  * - No es obligatorio usar try-catch
  * - Se propagará hasta el GlobalExceptionHandler
  * - Es el estándar en aplicaciones Spring modernas
+ *
+ * Una excepción barata:
+ * ---------------------
+ * Un 404 es una respuesta normal (IDs borrados, scrapers que prueban UUIDs
+ * al azar), no un fallo del programa. Por eso esta excepción:
+ * - NO captura la traza de la pila (writableStackTrace = false), que es lo
+ *   más caro de crear una excepción y nadie la mira
+ * - NO formatea el mensaje al crearse: getMessage() lo construye solo si
+ *   alguien lo pide (el GlobalExceptionHandler, una vez, para la respuesta)
  */
 public class TaskNotFoundException extends RuntimeException {
 
@@ -35,7 +44,7 @@ public class TaskNotFoundException extends RuntimeException {
      * @param taskId El UUID de la tarea que se intentó buscar
      */
     public TaskNotFoundException(UUID taskId) {
-        super(String.format("No se encontró la tarea con ID: %s", taskId));
+        super(null, null, false, false);
         this.taskId = taskId;
     }
 
@@ -45,10 +54,18 @@ public class TaskNotFoundException extends RuntimeException {
      * @param message Mensaje de error personalizado
      */
     public TaskNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.taskId = null;
     }
 
+    /**
+     * Mensaje de error, construido solo cuando se pide
+     */
+    @Override
+    public String getMessage() {
+        return taskId != null ? "No se encontró la tarea con ID: " + taskId : super.getMessage();
+    }
+
     /**
      * Obtiene el ID de la tarea que no fue encontrada
      *
@@ -0,0 +1,28 @@
+package com.example.todolist.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * APPENDER ASÍNCRONO QUE SOLO DESCARTA DEBUG
+ * ==========================================
+ *
+ * El AsyncAppender de Logback guarda los mensajes en una cola acotada y un
+ * hilo aparte los escribe en la consola. Así el hilo de la petición no
+ * espera a que termine la escritura.
+ *
+ * Cuando la cola está casi llena (quedan menos huecos que
+ * 'discardingThreshold'), Logback descarta por defecto TRACE, DEBUG e INFO.
+ * Esta versión solo descarta TRACE y DEBUG: las líneas INFO, WARN y ERROR
+ * nunca se pierden (si la cola se llena del todo, la petición espera).
+ *
+ * Se configura en logback-spring.xml.
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.todolist.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MUESTREO DE LOGS POR PETICIÓN
+ * =============================
+ *
+ * Al empezar cada petición decide, al azar, si sus líneas INFO se escriben.
+ * La decisión se guarda en el MDC (contexto de log del hilo) y la aplica
+ * RequestSamplingTurboFilter.
+ *
+ * Decidir una vez por petición (y no línea a línea) mantiene juntas las
+ * líneas del controlador y del servicio: de una petición muestreada se ven
+ * todas, y de las demás ninguna.
+ *
+ * Configuración en application.yml:
+ * ---------------------------------
+ * app:
+ *   logging:
+ *     access-sample-rate: 0.1   # una de cada diez peticiones
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+
+    /**
+     * Clave del MDC con la decisión de muestreo
+     */
+    static final String MDC_KEY = "logSampled";
+
+    static final String NOT_SAMPLED = "false";
+
+    private final double sampleRate;
+
+    public RequestLogSamplingFilter(@Value("${app.logging.access-sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        // Con 1.0 (valor por defecto) no hace falta marcar nada: todo se escribe
+        if (sampleRate >= 1.0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(MDC_KEY, Boolean.toString(sampled));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
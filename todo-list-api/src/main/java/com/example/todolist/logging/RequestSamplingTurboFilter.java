@@ -0,0 +1,48 @@
+package com.example.todolist.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * FILTRO DE MUESTREO DE LOGS POR PETICIÓN
+ * =======================================
+ *
+ * Descarta las líneas INFO de nuestra aplicación cuando la petición en
+ * curso no fue elegida para el muestreo (ver RequestLogSamplingFilter).
+ *
+ * Es un TurboFilter: Logback lo consulta ANTES de crear el evento de log,
+ * así que un mensaje descartado no reserva memoria ni formatea parámetros.
+ *
+ * Solo afecta a INFO. DEBUG lo controla el nivel del logger, y WARN y ERROR
+ * se escriben siempre. Fuera de una petición HTTP (arranque, tareas
+ * programadas...) no hay marca de muestreo y todo se escribe.
+ *
+ * Se configura en logback-spring.xml.
+ */
+public class RequestSamplingTurboFilter extends TurboFilter {
+
+    /**
+     * Solo se muestrean los loggers cuyo nombre empieza por este prefijo
+     */
+    private String loggerPrefix = "com.example.todolist";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level,
+                              String format, Object[] params, Throwable t) {
+        if (level != Level.INFO || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (RequestLogSamplingFilter.NOT_SAMPLED.equals(MDC.get(RequestLogSamplingFilter.MDC_KEY))) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todolist.repository;
+
+/**
+ * PROYECCIÓN DE LOS CONTADORES DE TAREAS
+ * ======================================
+ *
+ * Resultado de TaskRepository.countTasks: la suma de todas las franjas de
+ * la tabla task_counters (ver migración V6).
+ */
+public interface TaskCounts {
+
+    long getTotal();
+
+    long getCompleted();
+}
@@ -1,14 +1,24 @@
 package com.example.todolist.repository;
 
+import com.example.todolist.dto.TaskResponse;
 import com.example.todolist.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * REPOSITORIO DE TAREAS
@@ -47,62 +57,581 @@ import java.util.UUID;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
 
+    // =========================================================================
+    // PROYECCIONES PARA LISTADOS
+    // =========================================================================
+    // Los listados no cargan entidades Task: cada fila se convierte
+    // directamente en el objeto de respuesta.
+    //
+    // - Consultas JPQL: expresión constructora "SELECT new TaskResponse(...)".
+    //   Hibernate llama al constructor con los valores de cada fila.
+    // - Consultas nativas: proyección por interfaz (TaskView), con los alias
+    //   de columna igual que los getters.
+    //
+    // El parámetro :withDescription permite omitir la descripción (hasta 2000
+    // caracteres) cuando el cliente solo muestra los títulos. Con el CASE,
+    // PostgreSQL ni siquiera lee el valor de la columna: ahorra E/S, red y
+    // memoria en cada fila.
+    //
+    // Las consultas de conteo de los métodos que devuelven Page reciben los
+    // mismos parámetros que la consulta principal. Si alguno no aparece en el
+    // conteo, Spring Data lo ignora pero escribe la traza completa de la
+    // excepción en el log, en cada petición. Por eso esos conteos terminan
+    // con COUNT_USES_WITH_DESCRIPTION, una condición siempre cierta.
+    // =========================================================================
+
     /**
-     * Buscar tareas por estado de completado (con paginación)
+     * SELECT de JPQL que construye TaskResponse directamente (alias 't')
+     */
+    String RESPONSE_SELECT = "SELECT new com.example.todolist.dto.TaskResponse(" +
+            "t.id, t.title, " +
+            "CASE WHEN :withDescription = true THEN t.description ELSE NULL END, " +
+            "t.completed, t.createdAt, t.updatedAt) ";
+
+    /**
+     * Columnas de SQL nativo para la proyección TaskView
+     */
+    String VIEW_COLUMNS = "id, title, " +
+            "CASE WHEN CAST(:withDescription AS BOOLEAN) THEN description END AS description, " +
+            "completed, created_at AS \"createdAt\", updated_at AS \"updatedAt\" ";
+
+    /**
+     * Condición siempre cierta que usa :withDescription en los conteos
+     * (válida en JPQL y en SQL nativo)
+     */
+    String COUNT_USES_WITH_DESCRIPTION = "AND CAST(:withDescription AS BOOLEAN) IS NOT NULL";
+
+    /**
+     * Listar todas las tareas (con paginación)
+     *
+     * El orden llega en el Pageable; Spring Data lo añade a la consulta.
      *
-     * Spring Data JPA genera automáticamente la consulta SQL basándose
-     * en el nombre del método:
-     * "findByCompleted" -> "SELECT * FROM tasks WHERE completed = ?"
+     * @param withDescription false = descripción a null en todas las tareas
+     * @param pageable        Información de paginación (página, tamaño, ordenamiento)
+     * @return Página de tareas ya convertidas a TaskResponse
+     */
+    @Query(value = RESPONSE_SELECT + "FROM Task t",
+           countQuery = "SELECT count(t) FROM Task t")
+    Page<TaskResponse> findAllResponses(
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    /**
+     * Buscar tareas por estado de completado (con paginación)
      *
-     * @param completed Estado a buscar (true o false)
-     * @param pageable  Información de paginación (página, tamaño, ordenamiento)
+     * @param completed       Estado a buscar (true o false)
+     * @param withDescription false = descripción a null en todas las tareas
+     * @param pageable        Información de paginación (página, tamaño, ordenamiento)
      * @return Página de tareas que coinciden con el estado
      */
-    Page<Task> findByCompleted(Boolean completed, Pageable pageable);
+    @Query(value = RESPONSE_SELECT + "FROM Task t WHERE t.completed = :completed",
+           countQuery = "SELECT count(t) FROM Task t WHERE t.completed = :completed " +
+                        COUNT_USES_WITH_DESCRIPTION)
+    Page<TaskResponse> findResponsesByCompleted(
+            @Param("completed") Boolean completed,
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    // =========================================================================
+    // BÚSQUEDA DE TEXTO
+    // =========================================================================
+    // La búsqueda principal usa el motor de texto completo de PostgreSQL sobre
+    // la columna generada 'search_vector' (ver V3__add_full_text_search.sql).
+    // Los resultados se ordenan por relevancia con ts_rank: una coincidencia
+    // en el título (peso A) pesa más que una en la descripción (peso B).
+    //
+    // La búsqueda trigram (ILIKE '%texto%') se usa como alternativa para
+    // fragmentos sueltos. ILIKE sobre las columnas tal cual (sin LOWER) sí
+    // puede aprovechar los índices gin_trgm_ops de V1.
+    //
+    // Son consultas nativas (SQL de PostgreSQL), así que el Pageable que
+    // reciben NO debe llevar ordenamiento: el orden ya va en la consulta.
+    //
+    // CAST(:completed AS BOOLEAN) IS NULL permite que el filtro por estado
+    // sea opcional en la misma consulta.
+    // =========================================================================
 
     /**
-     * Buscar tareas por texto en título o descripción (con paginación)
+     * Búsqueda de texto completo ordenada por relevancia
      *
-     * Esta consulta usa JPQL (Java Persistence Query Language), que es
-     * similar a SQL pero trabaja con entidades Java en lugar de tablas.
+     * @param tsQuery   Consulta en formato tsquery (ej: "compr:* & lech:*")
+     * @param completed Estado de completado (null = cualquiera)
+     * @param pageable  Información de paginación (sin ordenamiento)
+     * @return Página de tareas que coinciden, las más relevantes primero
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "WHERE search_vector @@ to_tsquery('spanish', :tsQuery) " +
+                   "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+                   "ORDER BY ts_rank(search_vector, to_tsquery('spanish', :tsQuery)) DESC, " +
+                   "created_at DESC, id DESC",
+           countQuery = "SELECT count(*) FROM tasks " +
+                        "WHERE search_vector @@ to_tsquery('spanish', :tsQuery) " +
+                        "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+                        COUNT_USES_WITH_DESCRIPTION,
+           nativeQuery = true)
+    Page<TaskView> fullTextSearch(
+            @Param("tsQuery") String tsQuery,
+            @Param("completed") Boolean completed,
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    /**
+     * Búsqueda de texto completo sin consulta de conteo
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "WHERE search_vector @@ to_tsquery('spanish', :tsQuery) " +
+                   "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+                   "ORDER BY ts_rank(search_vector, to_tsquery('spanish', :tsQuery)) DESC, " +
+                   "created_at DESC, id DESC",
+           nativeQuery = true)
+    Slice<TaskView> fullTextSearchSlice(
+            @Param("tsQuery") String tsQuery,
+            @Param("completed") Boolean completed,
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    /**
+     * ¿Existe al menos una tarea que coincida con la búsqueda de texto completo?
      *
-     * LOWER() convierte a minúsculas para búsqueda case-insensitive.
-     * LIKE con % permite búsqueda parcial (contiene el texto).
+     * Se detiene en la primera coincidencia, así que es mucho más barata que un COUNT.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tasks " +
+                   "WHERE search_vector @@ to_tsquery('spanish', :tsQuery) " +
+                   "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed))",
+           nativeQuery = true)
+    boolean existsFullTextMatch(
+            @Param("tsQuery") String tsQuery,
+            @Param("completed") Boolean completed
+    );
+
+    /**
+     * Búsqueda trigram de un fragmento de texto (ILIKE '%fragmento%')
      *
-     * @param searchTerm Texto a buscar (se buscará en minúsculas)
-     * @param pageable   Información de paginación
-     * @return Página de tareas que contienen el texto
+     * @param pattern   Patrón LIKE ya escapado (ej: "%eche%")
+     * @param completed Estado de completado (null = cualquiera)
+     * @param pageable  Información de paginación (sin ordenamiento)
+     * @return Página de tareas que contienen el fragmento, las más recientes primero
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "WHERE (title ILIKE :pattern OR description ILIKE :pattern) " +
+                   "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+                   "ORDER BY created_at DESC, id DESC",
+           countQuery = "SELECT count(*) FROM tasks " +
+                        "WHERE (title ILIKE :pattern OR description ILIKE :pattern) " +
+                        "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+                        COUNT_USES_WITH_DESCRIPTION,
+           nativeQuery = true)
+    Page<TaskView> trigramSearch(
+            @Param("pattern") String pattern,
+            @Param("completed") Boolean completed,
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    /**
+     * Búsqueda trigram sin consulta de conteo
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "WHERE (title ILIKE :pattern OR description ILIKE :pattern) " +
+                   "AND (CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+                   "ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    Slice<TaskView> trigramSearchSlice(
+            @Param("pattern") String pattern,
+            @Param("completed") Boolean completed,
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    // =========================================================================
+    // LISTADOS SIN TOTALES (SLICE)
+    // =========================================================================
+    // Devolver Page<Task> obliga a Spring Data a lanzar un SELECT count(*)
+    // adicional. Con Slice<Task>, Spring Data pide size + 1 filas y solo
+    // averigua si existe una página siguiente, sin contar la tabla.
+    // =========================================================================
+
+    /**
+     * Todas las tareas, sin consulta de conteo
+     */
+    @Query(RESPONSE_SELECT + "FROM Task t")
+    Slice<TaskResponse> findAllResponsesAsSlice(
+            @Param("withDescription") boolean withDescription,
+            Pageable pageable
+    );
+
+    /**
+     * Tareas por estado de completado, sin consulta de conteo
      */
-    @Query("SELECT t FROM Task t WHERE " +
-           "LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Task> searchByTitleOrDescription(
-            @Param("searchTerm") String searchTerm,
+    @Query(RESPONSE_SELECT + "FROM Task t WHERE t.completed = :completed")
+    Slice<TaskResponse> findResponseSliceByCompleted(
+            @Param("completed") Boolean completed,
+            @Param("withDescription") boolean withDescription,
             Pageable pageable
     );
 
     /**
-     * Buscar por texto Y estado de completado (combinado)
+     * Número aproximado de tareas según las estadísticas de PostgreSQL
+     *
+     * pg_class.reltuples lo actualizan VACUUM/ANALYZE (y autovacuum), así que
+     * leerlo es instantáneo aunque la tabla tenga millones de filas. El valor
+     * puede desviarse algo del real; vale para mostrar "unas 120.000 tareas",
+     * no para cálculos exactos. Vale -1 si la tabla nunca se ha analizado.
      *
-     * Permite filtrar por ambos criterios a la vez:
-     * - Buscar "comprar" en tareas completadas
-     * - Buscar "urgente" en tareas pendientes
+     * Como 'tasks' está particionada (V7), se suman las estimaciones de sus
+     * particiones: autovacuum no analiza la tabla particionada en sí.
      *
-     * @param searchTerm Texto a buscar
-     * @param completed  Estado de completado
-     * @param pageable   Información de paginación
-     * @return Página de tareas que coinciden con ambos criterios
+     * @return Número estimado de filas en la tabla tasks (0 si no hay estadísticas)
+     */
+    @Query(value = "SELECT CAST(COALESCE(sum(GREATEST(c.reltuples, 0)), 0) AS BIGINT) " +
+                   "FROM pg_partition_tree(CAST('tasks' AS regclass)) p " +
+                   "JOIN pg_class c ON c.oid = p.relid WHERE p.isleaf",
+           nativeQuery = true)
+    long estimateCount();
+
+    // =========================================================================
+    // PAGINACIÓN POR CURSOR (KEYSET)
+    // =========================================================================
+    // Estas consultas no usan OFFSET: filtran a partir de la última fila vista
+    // comparando la tupla (created_at, id), que PostgreSQL resuelve con el
+    // índice idx_tasks_created_at_id (ver V2__add_keyset_pagination_indexes.sql).
+    //
+    // La condición redundante "created_at <= :createdAt" (o >=) no cambia el
+    // resultado, pero permite a PostgreSQL descartar las particiones mensuales
+    // que quedan fuera (ver V7__partition_tasks_by_month.sql): la poda de
+    // particiones no funciona con comparaciones de tuplas.
+    //
+    // - "After":  tareas más antiguas que el cursor (página siguiente)
+    // - "Before": tareas más recientes que el cursor (página anterior). Se leen
+    //             en orden ascendente y el servicio las invierte.
+    //
+    // El parámetro 'limit' se pide con un elemento extra (size + 1) para saber
+    // si hay más páginas sin necesidad de un COUNT(*).
+    // =========================================================================
+
+    /**
+     * Primera página por cursor (las tareas más recientes)
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<TaskView> findFirstByKeyset(
+            @Param("withDescription") boolean withDescription,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Tareas más antiguas que el cursor (created_at, id)
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "WHERE created_at <= :createdAt AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<TaskView> findAfterKeyset(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            @Param("withDescription") boolean withDescription,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Tareas más recientes que el cursor (created_at, id), en orden ascendente
      */
-    @Query("SELECT t FROM Task t WHERE " +
-           "(LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "AND t.completed = :completed")
-    Page<Task> searchByTitleOrDescriptionAndCompleted(
-            @Param("searchTerm") String searchTerm,
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks " +
+                   "WHERE created_at >= :createdAt AND (created_at, id) > (:createdAt, :id) " +
+                   "ORDER BY created_at ASC, id ASC LIMIT :limit",
+           nativeQuery = true)
+    List<TaskView> findBeforeKeyset(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            @Param("withDescription") boolean withDescription,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Primera página por cursor filtrando por estado
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks WHERE completed = :completed " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<TaskView> findFirstByCompletedKeyset(
             @Param("completed") Boolean completed,
-            Pageable pageable
+            @Param("withDescription") boolean withDescription,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Tareas más antiguas que el cursor filtrando por estado
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks WHERE completed = :completed " +
+                   "AND created_at <= :createdAt AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<TaskView> findAfterByCompletedKeyset(
+            @Param("completed") Boolean completed,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            @Param("withDescription") boolean withDescription,
+            @Param("limit") int limit
     );
 
+    /**
+     * Tareas más recientes que el cursor filtrando por estado (orden ascendente)
+     */
+    @Query(value = "SELECT " + VIEW_COLUMNS + "FROM tasks WHERE completed = :completed " +
+                   "AND created_at >= :createdAt AND (created_at, id) > (:createdAt, :id) " +
+                   "ORDER BY created_at ASC, id ASC LIMIT :limit",
+           nativeQuery = true)
+    List<TaskView> findBeforeByCompletedKeyset(
+            @Param("completed") Boolean completed,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            @Param("withDescription") boolean withDescription,
+            @Param("limit") int limit
+    );
+
+    // =========================================================================
+    // ESCRITURAS EN UNA SOLA SENTENCIA (UPDATE ... RETURNING)
+    // =========================================================================
+    // El flujo clásico findById -> modificar -> save hace dos viajes a la BD
+    // (SELECT + UPDATE) y además Hibernate compara el estado de la entidad.
+    // Con UPDATE ... RETURNING * PostgreSQL modifica la fila y nos devuelve su
+    // estado final en un único viaje. Si el ID no existe, no devuelve ninguna
+    // fila y el Optional llega vacío.
+    //
+    // No llevan @Modifying: @Modifying solo devuelve el número de filas
+    // afectadas, y aquí queremos leer las filas que devuelve RETURNING.
+    //
+    // HINT_READ_ONLY: la entidad devuelta no se vigila para cambios (no hace
+    // falta guardar una copia de su estado, solo la convertimos a DTO).
+    // =========================================================================
+
+    /**
+     * Alternar el estado de completado de una tarea en una sola sentencia
+     *
+     * @param id UUID de la tarea
+     * @return La tarea con su nuevo estado, o vacío si no existe
+     */
+    @Query(value = "UPDATE tasks SET completed = NOT completed, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id RETURNING *",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Task> toggleCompletedReturning(@Param("id") UUID id);
+
+    /**
+     * Actualizar los campos editables de una tarea en una sola sentencia
+     *
+     * Los CAST indican a PostgreSQL el tipo de los parámetros cuando llegan
+     * como null (descripción vacía o 'completed' no enviado).
+     * COALESCE mantiene el valor actual de 'completed' si no viene en el request.
+     *
+     * @param id          UUID de la tarea
+     * @param title       Nuevo título
+     * @param description Nueva descripción (puede ser null)
+     * @param completed   Nuevo estado, o null para no cambiarlo
+     * @return La tarea actualizada, o vacío si no existe
+     */
+    @Query(value = "UPDATE tasks SET title = :title, " +
+                   "description = CAST(:description AS VARCHAR), " +
+                   "completed = COALESCE(CAST(:completed AS BOOLEAN), completed), " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id RETURNING *",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Task> updateReturning(
+            @Param("id") UUID id,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("completed") Boolean completed
+    );
+
+    /**
+     * Eliminar una tarea por ID en una sola sentencia
+     *
+     * El deleteById heredado de JpaRepository primero carga la entidad
+     * (SELECT) y después la borra (DELETE). Esta consulta JPQL de borrado
+     * masivo va directa a la BD: DELETE FROM tasks WHERE id = ?
+     *
+     * @Modifying indica que la consulta modifica datos y que debe devolver
+     * el número de filas afectadas.
+     *
+     * @param id UUID de la tarea
+     * @return Número de filas eliminadas (0 si la tarea no existía, 1 si sí)
+     */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :id")
+    int deleteTaskById(@Param("id") UUID id);
+
+    // =========================================================================
+    // OPERACIONES MASIVAS
+    // =========================================================================
+    // Cada operación es UNA sola sentencia UPDATE/DELETE sobre todas las filas
+    // afectadas, en lugar de N peticiones individuales. Devuelven el número de
+    // filas modificadas.
+    //
+    // Las variantes "ByFilter" aceptan los mismos criterios que el listado.
+    // Cada criterio es opcional (null = no filtrar por él):
+    // - completed: estado de completado
+    // - tsQuery:   búsqueda de texto completo (ver TaskSearchService)
+    // - pattern:   búsqueda trigram ILIKE (alternativa a tsQuery)
+    // =========================================================================
+
+    /**
+     * Condición WHERE compartida por las operaciones masivas por filtro
+     */
+    String BULK_FILTER =
+            "(CAST(:completed AS BOOLEAN) IS NULL OR completed = :completed) " +
+            "AND (CAST(:tsQuery AS TEXT) IS NULL " +
+            "     OR search_vector @@ to_tsquery('spanish', CAST(:tsQuery AS TEXT))) " +
+            "AND (CAST(:pattern AS TEXT) IS NULL " +
+            "     OR title ILIKE CAST(:pattern AS TEXT) OR description ILIKE CAST(:pattern AS TEXT))";
+
+    /**
+     * Marcar como completadas/pendientes las tareas indicadas
+     *
+     * Solo se tocan las filas cuyo estado cambia realmente, así que el
+     * resultado indica cuántas tareas cambiaron de estado.
+     */
+    @Modifying
+    @Query(value = "UPDATE tasks SET completed = :value, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id IN (:ids) AND completed <> :value",
+           nativeQuery = true)
+    int setCompletedByIds(@Param("ids") List<UUID> ids, @Param("value") boolean value);
+
+    /**
+     * Marcar como completadas/pendientes las tareas que cumplen el filtro
+     */
+    @Modifying
+    @Query(value = "UPDATE tasks SET completed = :value, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE " + BULK_FILTER + " AND completed <> :value",
+           nativeQuery = true)
+    int setCompletedByFilter(
+            @Param("value") boolean value,
+            @Param("completed") Boolean completed,
+            @Param("tsQuery") String tsQuery,
+            @Param("pattern") String pattern
+    );
+
+    /**
+     * Alternar el estado de las tareas indicadas
+     */
+    @Modifying
+    @Query(value = "UPDATE tasks SET completed = NOT completed, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id IN (:ids)",
+           nativeQuery = true)
+    int toggleCompletedByIds(@Param("ids") List<UUID> ids);
+
+    /**
+     * Alternar el estado de las tareas que cumplen el filtro
+     */
+    @Modifying
+    @Query(value = "UPDATE tasks SET completed = NOT completed, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE " + BULK_FILTER,
+           nativeQuery = true)
+    int toggleCompletedByFilter(
+            @Param("completed") Boolean completed,
+            @Param("tsQuery") String tsQuery,
+            @Param("pattern") String pattern
+    );
+
+    /**
+     * Eliminar las tareas indicadas
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<UUID> ids);
+
+    /**
+     * Eliminar las tareas que cumplen el filtro
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE " + BULK_FILTER, nativeQuery = true)
+    int deleteByFilter(
+            @Param("completed") Boolean completed,
+            @Param("tsQuery") String tsQuery,
+            @Param("pattern") String pattern
+    );
+
+    // =========================================================================
+    // SINCRONIZACIÓN INCREMENTAL (GET /api/v1/tasks/changes)
+    // =========================================================================
+    // change_seq y change_xid los mantiene PostgreSQL (migración V5).
+    // change_xid es de tipo xid8; en Java lo manejamos como long (el valor
+    // cabe siempre en un BIGINT positivo) y lo convertimos pasando por TEXT.
+    // =========================================================================
+
+    /**
+     * Transacción más antigua que sigue en curso
+     *
+     * Toda transacción que no haya terminado en este momento tiene un
+     * identificador mayor o igual que este valor.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)",
+           nativeQuery = true)
+    long currentSnapshotXmin();
+
+    /**
+     * Resumen (md5) de la instantánea de transacciones actual
+     *
+     * Dos lecturas con el mismo valor ven exactamente los mismos datos: la
+     * instantánea (xmin:xmax:en curso) solo se repite si ninguna transacción
+     * ha confirmado ni empezado a escribir entre ambas. Ver TaskListVersion.
+     */
+    @Query(value = "SELECT md5(CAST(pg_current_snapshot() AS TEXT))", nativeQuery = true)
+    String currentSnapshotDigest();
+
+    /**
+     * Tareas creadas o modificadas por transacciones a partir de 'sinceXid'
+     *
+     * @param sinceXid Transacción mínima (xid8 como número)
+     * @param afterSeq Solo números de cambio mayores que este (paginación)
+     * @param limit    Número máximo de filas
+     * @return Tareas ordenadas por número de cambio
+     */
+    @Query(value = "SELECT * FROM tasks " +
+                   "WHERE change_xid >= CAST(CAST(:sinceXid AS TEXT) AS xid8) AND change_seq > :afterSeq " +
+                   "ORDER BY change_seq LIMIT :limit",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Task> findChangedSince(
+            @Param("sinceXid") long sinceXid,
+            @Param("afterSeq") long afterSeq,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Recorrer todas las tareas sin cargarlas en memoria (exportación)
+     *
+     * Devuelve un Stream en lugar de una List: las filas se leen de la BD a
+     * medida que se consumen, mediante un cursor de PostgreSQL.
+     *
+     * - HINT_FETCH_SIZE: filas que el driver pide en cada viaje. Sin él, el
+     *   driver de PostgreSQL lee TODO el resultado antes de devolver la
+     *   primera fila. Solo funciona dentro de una transacción.
+     * - HINT_READ_ONLY: Hibernate no guarda copia del estado de cada entidad.
+     *
+     * IMPORTANTE: hay que llamarlo dentro de una transacción y cerrar el
+     * Stream al terminar (try-with-resources).
+     *
+     * Se ordena por created_at y no por ID: los IDs solo siguen el orden de
+     * creación desde que son UUIDv7 (V4); las tareas anteriores tienen UUIDv4
+     * aleatorios. El índice (created_at, id) de cada partición da las filas ya
+     * ordenadas, una partición detrás de otra.
+     *
+     * @param completed Filtrar por estado (null = todas)
+     * @return Tareas ordenadas por fecha de creación (y por ID en caso de empate)
+     */
+    @Query("SELECT t FROM Task t WHERE (:completed IS NULL OR t.completed = :completed) ORDER BY t.createdAt, t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAll(@Param("completed") Boolean completed);
+
     /**
      * Contar tareas por estado
      *
@@ -110,8 +639,28 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
      * - "Tienes 5 tareas pendientes"
      * - "Has completado 10 tareas"
      *
+     * No hace count(*) sobre 'tasks': suma las franjas de task_counters, que
+     * los triggers de la migración V6 mantienen al día. Cuesta lo mismo sea
+     * cual sea el número de tareas.
+     *
      * @param completed Estado a contar
      * @return Número de tareas con ese estado
      */
-    long countByCompleted(Boolean completed);
+    @Query(value = "SELECT CAST(COALESCE(CASE WHEN :completed THEN sum(completed) " +
+                   "ELSE sum(total - completed) END, 0) AS BIGINT) FROM task_counters",
+           nativeQuery = true)
+    long countByCompleted(@Param("completed") boolean completed);
+
+    /**
+     * Contar todas las tareas y las completadas (GET /api/v1/tasks/stats)
+     *
+     * Igual que countByCompleted, lee task_counters en lugar de recorrer la
+     * tabla. Las pendientes son total - completed.
+     *
+     * @return Totales actuales (incluye los cambios de la transacción en curso)
+     */
+    @Query(value = "SELECT CAST(COALESCE(sum(total), 0) AS BIGINT) AS total, " +
+                   "CAST(COALESCE(sum(completed), 0) AS BIGINT) AS completed FROM task_counters",
+           nativeQuery = true)
+    TaskCounts countTasks();
 }
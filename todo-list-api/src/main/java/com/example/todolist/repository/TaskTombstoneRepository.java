@@ -0,0 +1,44 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.TaskTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REPOSITORIO DE LÁPIDAS (TAREAS ELIMINADAS)
+ * ==========================================
+ *
+ * Solo lectura: las filas las crea un trigger de PostgreSQL al borrar tareas.
+ */
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    /**
+     * Eliminaciones hechas por transacciones a partir de 'sinceXid'
+     *
+     * Mismo criterio que TaskRepository.findChangedSince.
+     *
+     * @param sinceXid Transacción mínima (xid8 como número)
+     * @param afterSeq Solo números de cambio mayores que este (paginación)
+     * @param limit    Número máximo de filas
+     * @return Lápidas ordenadas por número de cambio
+     */
+    @Query(value = "SELECT * FROM task_tombstones " +
+                   "WHERE change_xid >= CAST(CAST(:sinceXid AS TEXT) AS xid8) AND change_seq > :afterSeq " +
+                   "ORDER BY change_seq LIMIT :limit",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TaskTombstone> findDeletedSince(
+            @Param("sinceXid") long sinceXid,
+            @Param("afterSeq") long afterSeq,
+            @Param("limit") int limit
+    );
+}
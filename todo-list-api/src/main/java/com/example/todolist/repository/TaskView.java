@@ -0,0 +1,43 @@
+package com.example.todolist.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * PROYECCIÓN DE TAREA PARA LISTADOS (CONSULTAS NATIVAS)
+ * =====================================================
+ *
+ * Cuando una consulta de TaskRepository devuelve TaskView en lugar de Task,
+ * Spring Data NO crea entidades: lee las columnas de cada fila y las expone
+ * a través de estos getters (por el nombre de la columna o de su alias).
+ *
+ * ¿Qué nos ahorramos respecto a devolver List<Task>?
+ * --------------------------------------------------
+ * - Hibernate no registra las filas en el contexto de persistencia
+ * - No guarda una copia del estado de cada entidad para detectar cambios
+ * - No lee columnas que la respuesta no necesita (search_vector, change_seq...)
+ *
+ * Las consultas JPQL usan directamente una expresión constructora
+ * (SELECT new TaskResponse(...)). Las consultas nativas (búsqueda de texto y
+ * paginación por cursor) no admiten esa sintaxis, por eso usan esta interfaz.
+ *
+ * Los alias de las columnas van entre comillas ("createdAt") porque
+ * PostgreSQL pasa a minúsculas los nombres sin comillas.
+ */
+public interface TaskView {
+
+    UUID getId();
+
+    String getTitle();
+
+    /**
+     * null si la tarea no tiene descripción o si se pidió el listado sin ella
+     */
+    String getDescription();
+
+    Boolean getCompleted();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+}
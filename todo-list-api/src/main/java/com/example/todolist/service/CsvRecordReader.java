@@ -0,0 +1,131 @@
+package com.example.todolist.service;
+
+import com.example.todolist.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LECTOR DE CSV POR REGISTROS (RFC 4180)
+ * ======================================
+ *
+ * Lee un CSV registro a registro, sin cargar el fichero entero en memoria.
+ *
+ * No basta con leer línea a línea: un campo entre comillas puede contener
+ * comas, comillas duplicadas ("") y saltos de línea, así que un registro
+ * puede ocupar varias líneas del fichero (por ejemplo, una descripción con
+ * varios párrafos, tal y como la escribe la exportación).
+ *
+ * Por la misma razón, una comilla sin cerrar haría que el resto del fichero
+ * pareciera un único campo. Para no acumularlo en memoria, cada registro
+ * tiene un tamaño máximo: al superarlo se deja de leer.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int line = 1;
+    private int recordLine;
+    private int pushedBack = -2;
+
+    /**
+     * @param reader          Contenido del CSV
+     * @param maxRecordLength Caracteres máximos de un registro (con separadores)
+     */
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Leer el siguiente registro
+     *
+     * @return Los campos del registro, o null al final del fichero
+     * @throws IOException                si hay un error de lectura
+     * @throws InvalidImportFileException si hay una comilla sin cerrar o el
+     *                                    registro supera el tamaño máximo
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new InvalidImportFileException("El registro de la línea " + recordLine
+                        + " supera el máximo de " + maxRecordLength + " caracteres");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidImportFileException("Comilla sin cerrar en el registro de la línea " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Línea del fichero en la que empieza el último registro leído (desde 1)
+     */
+    int recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.todolist.service;
+
+import com.example.todolist.exception.InvalidSyncTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * TOKEN DE SINCRONIZACIÓN INCREMENTAL
+ * ===================================
+ *
+ * Indica desde dónde debe continuar GET /api/v1/tasks/changes.
+ * Para el cliente es un texto opaco (Base64 URL-safe); internamente:
+ *
+ *   sinceXid|afterSeq|roundXmin
+ *
+ * - sinceXid:  se devuelven los cambios de transacciones con ID >= sinceXid
+ * - afterSeq:  y con número de cambio > afterSeq (página dentro de una ronda)
+ * - roundXmin: transacción más antigua en curso al empezar la ronda; será el
+ *              sinceXid de la siguiente ronda. 0 = la ronda aún no ha empezado.
+ *
+ * Una "ronda" es una sincronización completa, que puede ocupar varias páginas
+ * (hasMore = true). Al terminar, el siguiente token empieza una ronda nueva
+ * desde roundXmin: así se vuelven a pedir los cambios de las transacciones
+ * que seguían abiertas durante esta ronda, aunque su número de cambio sea
+ * anterior a los ya enviados. Algún cambio puede llegar repetido, pero nunca
+ * se pierde ninguno. El cliente debe aplicar los cambios como "insertar o
+ * reemplazar" por ID.
+ *
+ * @param sinceXid  Transacción mínima de los cambios a devolver
+ * @param afterSeq  Último número de cambio ya enviado en esta ronda
+ * @param roundXmin sinceXid de la próxima ronda (0 si no ha empezado)
+ */
+public record SyncToken(long sinceXid, long afterSeq, long roundXmin) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Token de la primera sincronización: todas las tareas
+     */
+    public static SyncToken initial() {
+        return new SyncToken(0, 0, 0);
+    }
+
+    /**
+     * Token que empieza una ronda nueva a partir de la transacción indicada
+     */
+    public static SyncToken startOfRound(long sinceXid) {
+        return new SyncToken(sinceXid, 0, 0);
+    }
+
+    /**
+     * ¿Es la primera página de una ronda?
+     */
+    public boolean isRoundStart() {
+        return roundXmin == 0;
+    }
+
+    /**
+     * Codifica el token como texto opaco para enviarlo al cliente
+     */
+    public String encode() {
+        String raw = Long.toString(sinceXid) + SEPARATOR + afterSeq + SEPARATOR + roundXmin;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente
+     *
+     * @param token Texto opaco generado previamente por encode()
+     * @return El token decodificado
+     * @throws InvalidSyncTokenException si el texto no es un token válido
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Formato inesperado");
+            }
+            SyncToken decoded = new SyncToken(
+                    Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            if (decoded.sinceXid < 0 || decoded.afterSeq < 0 || decoded.roundXmin < 0) {
+                throw new IllegalArgumentException("Valores negativos");
+            }
+            return decoded;
+        } catch (RuntimeException ex) {
+            throw new InvalidSyncTokenException(token, ex);
+        }
+    }
+}
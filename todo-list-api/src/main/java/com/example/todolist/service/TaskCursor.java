@@ -0,0 +1,90 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * CURSOR DE PAGINACIÓN (KEYSET)
+ * =============================
+ *
+ * Representa una posición dentro de la lista de tareas ordenada por
+ * (createdAt DESC, id DESC), junto con la dirección en la que se quiere avanzar.
+ *
+ * Para el cliente el cursor es un texto opaco (Base64 URL-safe). Internamente
+ * tiene la forma:
+ *
+ *   N|2024-01-15T10:30:00.123456Z|550e8400-e29b-41d4-a716-446655440000
+ *   ^- Dirección: N = página siguiente, P = página anterior
+ *
+ * El cliente nunca debe construir ni interpretar el cursor; solo devolver
+ * el que recibió en nextCursor/previousCursor.
+ *
+ * @param direction Dirección en la que se pide la página
+ * @param createdAt Fecha de creación de la tarea de referencia
+ * @param id        ID de la tarea de referencia (desempate)
+ */
+public record TaskCursor(Direction direction, Instant createdAt, UUID id) {
+
+    /**
+     * Dirección de navegación respecto a la tarea de referencia
+     */
+    public enum Direction {
+        /** Tareas más antiguas que la referencia (página siguiente) */
+        NEXT,
+        /** Tareas más recientes que la referencia (página anterior) */
+        PREVIOUS
+    }
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Crea un cursor que apunta a la tarea indicada
+     */
+    public static TaskCursor of(Direction direction, TaskResponse task) {
+        return new TaskCursor(direction, task.getCreatedAt(), task.getId());
+    }
+
+    /**
+     * Codifica el cursor como texto opaco para enviarlo al cliente
+     */
+    public String encode() {
+        String raw = (direction == Direction.NEXT ? "N" : "P")
+                + SEPARATOR + createdAt
+                + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente
+     *
+     * @param cursor Texto opaco generado previamente por encode()
+     * @return El cursor decodificado
+     * @throws InvalidCursorException si el texto no es un cursor válido
+     */
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Formato inesperado");
+            }
+
+            Direction direction = switch (parts[0]) {
+                case "N" -> Direction.NEXT;
+                case "P" -> Direction.PREVIOUS;
+                default -> throw new IllegalArgumentException("Dirección desconocida: " + parts[0]);
+            };
+
+            return new TaskCursor(direction, Instant.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException(cursor, ex);
+        }
+    }
+}
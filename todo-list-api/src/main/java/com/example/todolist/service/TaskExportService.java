@@ -0,0 +1,150 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * SERVICIO DE EXPORTACIÓN DE TAREAS
+ * =================================
+ *
+ * Escribe TODAS las tareas (o las de un estado) en un OutputStream, en
+ * formato NDJSON (un objeto JSON por línea) o CSV.
+ *
+ * ¿Cómo exporta millones de filas sin quedarse sin memoria?
+ * ---------------------------------------------------------
+ * 1. TaskRepository.streamAll lee las filas con un cursor de PostgreSQL,
+ *    de 500 en 500, en lugar de cargarlas todas en una List.
+ * 2. Cada tarea se escribe en cuanto se lee y después se desvincula del
+ *    EntityManager (detach). Si no, Hibernate guardaría una referencia a
+ *    cada entidad leída hasta el final de la transacción.
+ * 3. La salida se escribe directamente en la respuesta HTTP, por partes.
+ *
+ * Así la memoria usada es la misma con 100 tareas que con 10 millones.
+ *
+ * El método es transaccional (de solo lectura) porque el cursor de
+ * PostgreSQL solo existe dentro de una transacción. Ojo: la exportación
+ * ocupa una conexión del pool mientras dura.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskExportService {
+
+    /**
+     * Cabecera del CSV (mismo orden que las columnas de writeCsv)
+     *
+     * TaskImportService no la usa: busca en la cabecera del fichero las
+     * columnas title, description y completed por su nombre. Si se renombra
+     * alguna aquí, hay que cambiarla también en TaskImportService.readCsv.
+     */
+    static final String CSV_HEADER = "id,title,description,completed,createdAt,updatedAt";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Exportar las tareas
+     *
+     * @param format    NDJSON o CSV
+     * @param completed Filtrar por estado (null = todas)
+     * @param out       Destino (no se cierra)
+     * @return Número de tareas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long export(TaskFileFormat format, Boolean completed, OutputStream out) throws IOException {
+        log.debug("Exportando tareas en formato {} (completed={})", format, completed);
+
+        long count;
+        try (Stream<Task> tasks = taskRepository.streamAll(completed)) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(tasks.iterator(), out);
+                case CSV -> writeCsv(tasks.iterator(), out);
+            };
+        }
+
+        log.info("Exportación {} completada: {} tareas", format, count);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        // El generador no debe cerrar 'out': lo cierra Spring al terminar la respuesta
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            while (tasks.hasNext()) {
+                Task task = tasks.next();
+                generator.writeObject(TaskResponse.fromEntity(task));
+                generator.writeRaw('\n');
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            writer.write(task.getId().toString());
+            writer.write(',');
+            writer.write(csvField(task.getTitle()));
+            writer.write(',');
+            writer.write(csvField(task.getDescription()));
+            writer.write(',');
+            writer.write(String.valueOf(task.getCompleted()));
+            writer.write(',');
+            writer.write(String.valueOf(task.getCreatedAt()));
+            writer.write(',');
+            writer.write(String.valueOf(task.getUpdatedAt()));
+            writer.write("\r\n");
+            entityManager.detach(task);
+            count++;
+        }
+        // flush y no close: 'out' lo cierra Spring
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Escapar un campo de texto según RFC 4180
+     *
+     * Si contiene comas, comillas o saltos de línea va entre comillas, y las
+     * comillas internas se duplican. null se escribe como campo vacío.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todolist.service;
+
+import java.util.Locale;
+
+/**
+ * FORMATOS DE FICHERO DE TAREAS
+ * =============================
+ *
+ * Formatos que entienden la exportación (GET /api/v1/tasks/export) y la
+ * importación (POST /api/v1/tasks/import). Un fichero exportado se puede
+ * volver a importar tal cual.
+ *
+ * - NDJSON: un objeto JSON por línea, con los campos de TaskResponse
+ * - CSV: cabecera id,title,description,completed,createdAt,updatedAt (RFC 4180)
+ */
+public enum TaskFileFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TaskFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Obtener el formato a partir de su nombre ("ndjson" o "csv")
+     *
+     * @return El formato, o null si el nombre no es válido
+     */
+    public static TaskFileFormat fromName(String name) {
+        for (TaskFileFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.ImportResponse;
+import com.example.todolist.dto.TaskChangeEvent;
+import com.example.todolist.dto.TaskRequest;
+import com.example.todolist.entity.UuidV7;
+import com.example.todolist.events.TaskChangeNotifier;
+import com.example.todolist.exception.InvalidImportFileException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SERVICIO DE IMPORTACIÓN DE TAREAS (COPY)
+ * ========================================
+ *
+ * Carga un fichero NDJSON o CSV (el mismo formato que genera la exportación)
+ * en la tabla 'tasks' usando COPY de PostgreSQL.
+ *
+ * ¿Por qué COPY y no saveAll/INSERT en lotes?
+ * --------------------------------------------
+ * COPY es el mecanismo de carga masiva de PostgreSQL: las filas viajan como
+ * un único flujo de datos, sin sentencias, parámetros ni respuestas por
+ * cada lote. Para millones de filas es varias veces más rápido que incluso
+ * POST /api/v1/tasks/batch (INSERT en lotes a través de Hibernate).
+ *
+ * ¿Cómo se procesa el fichero?
+ * ----------------------------
+ * En dos fases, sin guardarlo nunca entero en memoria:
+ *
+ *   1. stage(): fichero --> leer un registro --> validar --> fichero temporal
+ *                                                  +--> inválido: se anota y se salta
+ *   2. load():  fichero temporal --> COPY (una transacción)
+ *
+ * La primera fase va al ritmo del cliente (una subida por HTTP puede durar
+ * minutos) y NO usa la base de datos. Solo la segunda ocupa una conexión del
+ * pool, y lo hace leyendo de disco local, a la velocidad de COPY. Así un
+ * cliente lento no retiene una conexión ni una transacción abierta mientras
+ * sube el fichero.
+ *
+ * Las reglas de validación son las de TaskRequest (las mismas que en
+ * POST /api/v1/tasks): título de 3 a 120 caracteres, descripción de 2000
+ * como máximo. Ningún registro puede superar MAX_RECORD_LENGTH caracteres:
+ * un fichero sin saltos de línea (o un CSV con una comilla sin cerrar) se
+ * rechaza en cuanto se pasa de ese tamaño, sin seguir leyendo.
+ *
+ * Toda la carga ocurre en UNA transacción: si algo falla a mitad (fichero
+ * cortado, error de la BD...), no se importa ninguna tarea.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+
+    /**
+     * Número máximo de líneas rechazadas que se detallan en la respuesta
+     */
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    /**
+     * Tamaño máximo de un registro (una línea NDJSON o un registro CSV), en
+     * caracteres. Un registro válido tiene como mucho 120 + 2000 caracteres
+     * de datos; el resto es margen para nombres de campo, comillas y escapes.
+     */
+    static final int MAX_RECORD_LENGTH = 8 * 1024;
+
+    /**
+     * Columnas que se rellenan con COPY. El resto usa su valor por defecto
+     * (created_at, updated_at, change_seq...) o se calcula (search_vector).
+     */
+    private static final String COPY_SQL =
+            "COPY tasks (id, title, description, completed) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Tamaño del buffer de envío a PostgreSQL (y del fichero temporal)
+     */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TaskListVersion taskListVersion;
+    private final TaskChangeNotifier taskChangeNotifier;
+
+    /**
+     * Fase 1: leer y validar el fichero, y guardar las tareas válidas en un
+     * fichero temporal. No usa la base de datos.
+     *
+     * @param format NDJSON o CSV
+     * @param in     Contenido del fichero (no se cierra)
+     * @return Las tareas preparadas para load(); hay que cerrarlo al terminar
+     * @throws InvalidImportFileException si el fichero no se puede interpretar
+     */
+    public StagedImport stage(TaskFileFormat format, InputStream in) throws IOException {
+        log.debug("Preparando importación en formato {}", format);
+
+        StagedImport staged = new StagedImport(Files.createTempFile("tasks-import-", ".bin"));
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(staged.file), COPY_BUFFER_SIZE))) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            if (format == TaskFileFormat.NDJSON) {
+                readNdjson(reader, out, staged);
+            } else {
+                readCsv(reader, out, staged);
+            }
+        } catch (IOException | RuntimeException e) {
+            staged.close();
+            throw e;
+        }
+        return staged;
+    }
+
+    /**
+     * Fase 2: cargar con COPY las tareas preparadas por stage()
+     *
+     * @param staged Resultado de stage()
+     * @return Resumen de la importación
+     */
+    @Transactional
+    public ImportResponse load(StagedImport staged) {
+        if (staged.imported > 0) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                // JdbcTemplate nos da la conexión de la transacción actual
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                PGCopyOutputStream copy = new PGCopyOutputStream(pgConnection, COPY_SQL, COPY_BUFFER_SIZE);
+                try {
+                    copyRecords(staged, copy);
+                    copy.endCopy();
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    // Si algo falló a mitad, se cancela el COPY para dejar la conexión usable
+                    if (copy.isActive()) {
+                        copy.cancelCopy();
+                    }
+                }
+            });
+
+            taskListVersion.changed();
+            taskChangeNotifier.publish(TaskChangeEvent.bulk("import", (int) Math.min(staged.imported, Integer.MAX_VALUE)));
+        }
+
+        log.info("Importación completada: {} tareas importadas, {} rechazadas",
+                staged.imported, staged.rejected);
+
+        return ImportResponse.builder()
+                .total(staged.imported + staged.rejected)
+                .imported(staged.imported)
+                .rejected(staged.rejected)
+                .rejectedLines(staged.rejectedLines)
+                .rejectedLinesTruncated(staged.rejected > staged.rejectedLines.size())
+                .build();
+    }
+
+    /**
+     * Los IDs se generan aquí, al escribir en COPY, y no en stage(): así su
+     * marca de tiempo (UUIDv7) es la de la carga y no la de la subida
+     */
+    private void copyRecords(StagedImport staged, PGCopyOutputStream copy) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(staged.file), COPY_BUFFER_SIZE))) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+            for (long i = 0; i < staged.imported; i++) {
+                String title = in.readUTF();
+                String description = in.readBoolean() ? in.readUTF() : null;
+                boolean completed = in.readBoolean();
+
+                // Formato CSV de COPY: un campo vacío SIN comillas es NULL
+                out.write(UuidV7.next().toString());
+                out.write(',');
+                out.write(quote(title));
+                out.write(',');
+                if (description != null) {
+                    out.write(quote(description));
+                }
+                out.write(',');
+                out.write(completed ? "true" : "false");
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * NDJSON: cada línea no vacía es un objeto JSON con title, description y completed
+     */
+    private void readNdjson(BufferedReader reader, DataOutputStream out, StagedImport result) throws IOException {
+        StringBuilder buffer = new StringBuilder();
+        long lineNumber = 0;
+        while (readLine(reader, buffer, lineNumber + 1)) {
+            lineNumber++;
+            String line = buffer.toString();
+            if (line.isBlank()) {
+                continue;
+            }
+            TaskRequest request;
+            try {
+                request = objectMapper.readValue(line, TaskRequest.class);
+            } catch (JsonProcessingException e) {
+                result.reject(lineNumber, List.of("JSON no válido"));
+                continue;
+            }
+            accept(lineNumber, request, out, result);
+        }
+    }
+
+    /**
+     * Leer una línea (sin el salto de línea) sin pasar de MAX_RECORD_LENGTH
+     *
+     * @return false al final del fichero
+     * @throws InvalidImportFileException si la línea es demasiado larga
+     */
+    private static boolean readLine(BufferedReader reader, StringBuilder line, long lineNumber) throws IOException {
+        line.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() == MAX_RECORD_LENGTH) {
+                throw new InvalidImportFileException("La línea " + lineNumber
+                        + " supera el máximo de " + MAX_RECORD_LENGTH + " caracteres");
+            }
+            line.append((char) c);
+            c = reader.read();
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    /**
+     * CSV: la primera línea es la cabecera; se usan las columnas title,
+     * description y completed (en cualquier orden) y se ignoran las demás
+     */
+    private void readCsv(BufferedReader reader, DataOutputStream out, StagedImport result) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_RECORD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        int titleColumn = header.indexOf("title");
+        int descriptionColumn = header.indexOf("description");
+        int completedColumn = header.indexOf("completed");
+        if (titleColumn < 0) {
+            throw new InvalidImportFileException("La cabecera del CSV debe tener la columna 'title'");
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            long lineNumber = csv.recordLine();
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                result.reject(lineNumber, List.of("Se esperaban " + header.size() + " columnas y hay " + fields.size()));
+                continue;
+            }
+
+            Boolean completed = null;
+            if (completedColumn >= 0 && !fields.get(completedColumn).isEmpty()) {
+                String value = fields.get(completedColumn);
+                if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                    result.reject(lineNumber, List.of("completed: debe ser true o false"));
+                    continue;
+                }
+                completed = Boolean.parseBoolean(value);
+            }
+
+            TaskRequest request = TaskRequest.builder()
+                    .title(fields.get(titleColumn))
+                    // En el CSV no se distingue null de vacío: vacío = sin descripción
+                    .description(descriptionColumn >= 0 && !fields.get(descriptionColumn).isEmpty()
+                            ? fields.get(descriptionColumn) : null)
+                    .completed(completed)
+                    .build();
+            accept(lineNumber, request, out, result);
+        }
+    }
+
+    /**
+     * Validar un registro y, si es válido, guardarlo en el fichero temporal
+     */
+    private void accept(long lineNumber, TaskRequest request, DataOutputStream out, StagedImport result)
+            throws IOException {
+        List<String> errors = validate(request);
+        if (!errors.isEmpty()) {
+            result.reject(lineNumber, errors);
+            return;
+        }
+
+        out.writeUTF(request.getTitle());
+        out.writeBoolean(request.getDescription() != null);
+        if (request.getDescription() != null) {
+            out.writeUTF(request.getDescription());
+        }
+        out.writeBoolean(Boolean.TRUE.equals(request.getCompleted()));
+        result.imported++;
+    }
+
+    /**
+     * Mismas reglas y mismo formato de mensajes que TaskService.createTasks
+     */
+    private List<String> validate(TaskRequest request) {
+        if (request == null) {
+            return List.of("El elemento no puede ser null");
+        }
+        return validator.validate(request)
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Importación preparada por stage(): las tareas válidas, ya guardadas en
+     * un fichero temporal, y los contadores. close() borra el fichero.
+     */
+    public static final class StagedImport implements AutoCloseable {
+        private final Path file;
+        private long imported;
+        private long rejected;
+        private final List<ImportResponse.RejectedLine> rejectedLines = new ArrayList<>();
+
+        private StagedImport(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Número de tareas válidas que se cargarán
+         */
+        public long imported() {
+            return imported;
+        }
+
+        private void reject(long line, List<String> errors) {
+            rejected++;
+            if (rejectedLines.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedLines.add(new ImportResponse.RejectedLine(line, errors));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.todolist.service;
+
+import com.example.todolist.cache.ListCacheGeneration;
+import com.example.todolist.dto.TaskChangeEvent;
+import com.example.todolist.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VERSIÓN DE LOS LISTADOS DE TAREAS
+ * =================================
+ *
+ * Un valor que cambia cada vez que cambia alguna tarea (alta,
+ * modificación, alternado, borrado u operación masiva).
+ *
+ * ¿Para qué sirve?
+ * ----------------
+ * TaskController lo usa como ETag de los listados: si un cliente vuelve a
+ * pedir GET /api/v1/tasks con If-None-Match y la versión no ha cambiado,
+ * se responde 304 Not Modified SIN leer las tareas.
+ *
+ * ¿De dónde sale la versión?
+ * --------------------------
+ * Depende de cómo se entere esta réplica de los cambios hechos fuera de
+ * ella (otras réplicas, 'make import', detach_task_partition()...):
+ *
+ * 1. Eventos activados (app.events.enabled=true) y caché de listados en
+ *    Redis: la generación COMPARTIDA de esa caché (ListCacheGeneration). La
+ *    sube cada escritura de la aplicación, en cualquier réplica, y los
+ *    eventos que pueden venir de fuera ('bulk-archive' de
+ *    detach_task_partition(), 'bulk-import' de 'make import' y 'resync' tras
+ *    reconectar la escucha).
+ * 2. Eventos activados, sin Redis: un contador local. Los cambios de fuera
+ *    le llegan por el NOTIFY de cada escritura (TaskChangeListener llama a
+ *    remoteChanged()), y tras reconectar la escucha, con 'resync'.
+ * 3. Sin eventos (la configuración por defecto, con o sin Redis): la propia
+ *    base de datos. La versión es un resumen de la instantánea de
+ *    transacciones de PostgreSQL (pg_current_snapshot), que cambia en cuanto
+ *    una transacción de escritura empieza o confirma, venga de donde venga. Cuesta una
+ *    consulta trivial por petición, pero el 304 sigue sin leer las tareas.
+ *    Cambia también con escrituras que no son de tareas (otras tablas u
+ *    otras bases de datos del mismo servidor): algún 200 de más, nunca un
+ *    304 con datos viejos.
+ *
+ * Detalles importantes:
+ * ---------------------
+ * - El contador local sube DESPUÉS del commit. Si subiera antes, un cliente
+ *   podría leer los datos antiguos (aún sin confirmar) con la versión nueva,
+ *   y seguiría recibiendo 304 con datos viejos hasta el siguiente cambio.
+ * - Empieza en la hora de arranque (en milisegundos), así que tras un
+ *   reinicio nunca se repite una versión anterior.
+ * - Last-Modified solo se envía con el contador local: en los otros casos
+ *   no se conoce la hora del último cambio, y un If-Modified-Since
+ *   comparado con la hora de otra réplica podría dar un 304 con datos viejos.
+ * - Si Redis no responde, se usa la versión de la base de datos.
+ *
+ * Cada cambio sube también la generación de la caché compartida de listados,
+ * en el mismo momento y por el mismo motivo: solo después del commit.
+ */
+@Component
+@Slf4j
+public class TaskListVersion {
+
+    private final ListCacheGeneration listCacheGeneration;
+    private final TaskRepository taskRepository;
+    private final boolean eventsEnabled;
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    private volatile Instant lastModified = Instant.now();
+
+    public TaskListVersion(
+            ListCacheGeneration listCacheGeneration,
+            TaskRepository taskRepository,
+            @Value("${app.events.enabled:false}") boolean eventsEnabled
+    ) {
+        this.listCacheGeneration = listCacheGeneration;
+        this.taskRepository = taskRepository;
+        this.eventsEnabled = eventsEnabled;
+    }
+
+    /**
+     * Versión actual de los listados, para el ETag (ver "¿De dónde sale la versión?")
+     */
+    public String current() {
+        if (!eventsEnabled) {
+            return databaseVersion();
+        }
+        if (listCacheGeneration.isShared()) {
+            try {
+                return Long.toString(listCacheGeneration.current());
+            } catch (RuntimeException e) {
+                log.warn("No se pudo leer la generación compartida de listados: {}", e.getMessage());
+                return databaseVersion();
+            }
+        }
+        return Long.toString(version.get());
+    }
+
+    /**
+     * Momento del último cambio (para la cabecera Last-Modified), o null si
+     * no se conoce de forma fiable para todas las réplicas y no se debe enviar
+     */
+    public Instant lastModified() {
+        return !listCacheGeneration.isShared() && eventsEnabled ? lastModified : null;
+    }
+
+    /**
+     * Registra que las tareas han cambiado
+     *
+     * Dentro de una transacción, el contador sube cuando esta se confirma
+     * (si hay rollback, no sube). Fuera de una transacción, sube en el acto.
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    /**
+     * Registra un cambio hecho en OTRA réplica (o directamente en la base de
+     * datos), recibido por NOTIFY cuando ya está confirmado
+     *
+     * Con la caché de listados en Redis, la réplica que hizo el cambio ya
+     * subió la generación compartida: solo hace falta subirla si es local, o
+     * si el cambio puede venir de fuera de las réplicas (ver sharedMayBeStale).
+     */
+    public void remoteChanged(TaskChangeEvent event) {
+        lastModified = Instant.now();
+        version.incrementAndGet();
+        if (!listCacheGeneration.isShared() || sharedMayBeStale(event)) {
+            listCacheGeneration.bump();
+        }
+    }
+
+    /**
+     * Eventos que nadie ha reflejado en la generación compartida: los envía la
+     * base de datos (detach_task_partition()), se pueden haber perdido cambios
+     * (resync) o vienen de 'make import', que arranca su propia JVM
+     */
+    private static boolean sharedMayBeStale(TaskChangeEvent event) {
+        String type = event.getType();
+        return TaskChangeEvent.ARCHIVED.equals(type)
+                || TaskChangeEvent.RESYNC.equals(type)
+                || TaskChangeEvent.IMPORTED.equals(type);
+    }
+
+    private String databaseVersion() {
+        return "db-" + taskRepository.currentSnapshotDigest();
+    }
+
+    private void increment() {
+        lastModified = Instant.now();
+        version.incrementAndGet();
+        listCacheGeneration.bump();
+    }
+}
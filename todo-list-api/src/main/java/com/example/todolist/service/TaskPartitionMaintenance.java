@@ -0,0 +1,89 @@
+package com.example.todolist.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MANTENIMIENTO DE PARTICIONES DE 'tasks'
+ * =======================================
+ *
+ * La tabla 'tasks' está particionada por mes de created_at (ver migración
+ * V7) y no tiene partición DEFAULT: una tarea creada en un mes sin
+ * partición no se podría guardar.
+ *
+ * Este componente llama a create_task_partitions() al arrancar y después
+ * periódicamente (cada día por defecto), para que siempre existan las
+ * particiones de los próximos meses. La función no hace nada si ya existen
+ * y se puede ejecutar desde varias réplicas a la vez.
+ *
+ * Si la llamada falla (BD caída, falta de permisos), solo se registra: hay
+ * varios meses de margen hasta que la falta de particiones afecte a los INSERT.
+ *
+ * Configuración en application.yml:
+ * ---------------------------------
+ * app:
+ *   partitions:
+ *     months-ahead: 3
+ *     check-interval: 24h
+ */
+@Component
+@Slf4j
+public class TaskPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService executor;
+
+    public TaskPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.partitions.check-interval:24h}") Duration checkInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.checkInterval = checkInterval;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.scheduleWithFixedDelay(this::createPartitions,
+                0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Crea las particiones que falten para el mes actual y los siguientes
+     */
+    void createPartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT create_task_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("Creadas {} particiones nuevas de la tabla tasks", created);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron crear las particiones de tasks, se reintenta en {}: {}",
+                    checkInterval, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
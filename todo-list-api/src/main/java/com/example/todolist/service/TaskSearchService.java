@@ -0,0 +1,205 @@
+package com.example.todolist.service;
+
+import com.example.todolist.exception.InvalidSearchException;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.repository.TaskView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SERVICIO DE BÚSQUEDA DE TAREAS
+ * ==============================
+ *
+ * Encapsula cómo se busca texto en las tareas (parámetro ?q= del listado).
+ *
+ * Estrategia:
+ * -----------
+ * 1. Búsqueda de texto completo (full-text search) de PostgreSQL:
+ *    - Usa el índice GIN sobre la columna generada 'search_vector'
+ *    - Ordena por relevancia (ts_rank): el título pesa más que la descripción
+ *    - Cada palabra se busca como prefijo: "compr" encuentra "comprar", "compras"...
+ *
+ * 2. Si la búsqueda anterior no encuentra nada (o el texto no contiene
+ *    palabras, ej: "#12"), se usa una búsqueda trigram con ILIKE '%texto%'.
+ *    Sirve para fragmentos en mitad de una palabra ("eche" dentro de "leche")
+ *    y aprovecha los índices gin_trgm_ops creados en V1.
+ *
+ *    Solo con textos de al menos 3 caracteres: un índice trigram no sirve
+ *    para '%ab%' (no contiene ningún trigrama), y PostgreSQL recorrería
+ *    todas las filas de todas las particiones. Un texto más corto se busca
+ *    solo como prefijo de palabra ("ab" -> "ab:*"), aunque no encuentre
+ *    nada; si ni siquiera tiene palabras ("#"), se responde 400.
+ *
+ * Este servicio no abre transacciones propias: se llama desde TaskService,
+ * y se ejecuta dentro de la transacción del método que lo invoca.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchService {
+
+    /**
+     * Palabras que se envían al motor de texto completo (letras y dígitos).
+     * Cualquier otro carácter (incluidos los operadores de tsquery: & | ! : *)
+     * se descarta, así que el texto del usuario nunca puede romper la consulta.
+     */
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    /**
+     * Longitud mínima (en caracteres) para la búsqueda trigram por fragmento
+     */
+    static final int MIN_TRIGRAM_LENGTH = 3;
+
+    private final TaskRepository taskRepository;
+
+    /**
+     * Buscar tareas por texto, con totales (Page)
+     *
+     * @param search          Texto a buscar (ya recortado, no vacío)
+     * @param completed       Filtro por estado (null = cualquiera)
+     * @param withDescription false = omitir la descripción de las tareas
+     * @param page            Número de página (empieza en 0)
+     * @param size            Cantidad de elementos por página
+     * @return Página de tareas encontradas
+     */
+    public Page<TaskView> search(String search, Boolean completed, boolean withDescription, int page, int size) {
+        // Las consultas nativas ya llevan su ORDER BY, así que el Pageable va sin Sort
+        Pageable pageable = PageRequest.of(page, size);
+        String tsQuery = toPrefixTsQuery(search);
+
+        if (tsQuery != null) {
+            Page<TaskView> result = taskRepository.fullTextSearch(tsQuery, completed, withDescription, pageable);
+            if (result.getTotalElements() > 0 || !allowsTrigram(search)) {
+                return result;
+            }
+        }
+
+        requireTrigram(search);
+        log.debug("Sin coincidencias de texto completo para '{}', usando búsqueda trigram", search);
+        return taskRepository.trigramSearch(toContainsPattern(search), completed, withDescription, pageable);
+    }
+
+    /**
+     * Buscar tareas por texto, sin totales (Slice)
+     *
+     * @param search          Texto a buscar (ya recortado, no vacío)
+     * @param completed       Filtro por estado (null = cualquiera)
+     * @param withDescription false = omitir la descripción de las tareas
+     * @param page            Número de página (empieza en 0)
+     * @param size            Cantidad de elementos por página
+     * @return Slice de tareas encontradas
+     */
+    public Slice<TaskView> searchSlice(String search, Boolean completed, boolean withDescription, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        String tsQuery = toPrefixTsQuery(search);
+
+        if (tsQuery != null) {
+            Slice<TaskView> result = taskRepository.fullTextSearchSlice(tsQuery, completed, withDescription, pageable);
+            // Una página vacía más allá de la primera puede significar simplemente
+            // que se acabaron los resultados: lo comprobamos antes de cambiar de motor
+            if (result.hasContent()
+                    || !allowsTrigram(search)
+                    || (page > 0 && taskRepository.existsFullTextMatch(tsQuery, completed))) {
+                return result;
+            }
+        }
+
+        requireTrigram(search);
+        log.debug("Sin coincidencias de texto completo para '{}', usando búsqueda trigram", search);
+        return taskRepository.trigramSearchSlice(toContainsPattern(search), completed, withDescription, pageable);
+    }
+
+    /**
+     * Decide con qué motor se aplica un texto de búsqueda en operaciones masivas
+     *
+     * Sigue la misma regla que search(): texto completo si hay alguna
+     * coincidencia (o si el texto es demasiado corto para buscarlo como
+     * fragmento), y si no, búsqueda trigram por fragmento.
+     *
+     * @param search    Texto a buscar (null o vacío = sin búsqueda)
+     * @param completed Filtro por estado (null = cualquiera)
+     * @return Criterio con, como mucho, uno de los dos campos informado
+     */
+    public SearchCriteria resolveCriteria(String search, Boolean completed) {
+        if (search == null || search.isBlank()) {
+            return new SearchCriteria(null, null);
+        }
+
+        String trimmed = search.trim();
+        String tsQuery = toPrefixTsQuery(trimmed);
+        if (tsQuery != null && (!allowsTrigram(trimmed) || taskRepository.existsFullTextMatch(tsQuery, completed))) {
+            return new SearchCriteria(tsQuery, null);
+        }
+        requireTrigram(trimmed);
+        return new SearchCriteria(null, toContainsPattern(trimmed));
+    }
+
+    /**
+     * ¿Es el texto lo bastante largo para que la búsqueda trigram use su índice?
+     */
+    static boolean allowsTrigram(String search) {
+        return search.codePointCount(0, search.length()) >= MIN_TRIGRAM_LENGTH;
+    }
+
+    /**
+     * @throws InvalidSearchException si el texto es demasiado corto para la búsqueda trigram
+     */
+    private static void requireTrigram(String search) {
+        if (!allowsTrigram(search)) {
+            throw new InvalidSearchException(search, MIN_TRIGRAM_LENGTH);
+        }
+    }
+
+    /**
+     * Criterio de búsqueda ya resuelto para las consultas nativas
+     *
+     * @param tsQuery Consulta de texto completo (null si no se usa)
+     * @param pattern Patrón ILIKE para la búsqueda trigram (null si no se usa)
+     */
+    public record SearchCriteria(String tsQuery, String pattern) {
+    }
+
+    /**
+     * Convierte el texto del usuario en una consulta tsquery de prefijos
+     *
+     * Ejemplo: "Comprar  leche!" -> "Comprar:* & leche:*"
+     *
+     * @param search Texto introducido por el usuario
+     * @return La consulta tsquery, o null si el texto no contiene ninguna palabra
+     */
+    static String toPrefixTsQuery(String search) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = WORD.matcher(search);
+        while (matcher.find()) {
+            terms.add(matcher.group() + ":*");
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    /**
+     * Convierte el texto del usuario en un patrón LIKE "contiene"
+     *
+     * Escapamos los comodines de LIKE (% y _) y la barra invertida, para que
+     * "100%" busque literalmente "100%" y no "100 seguido de cualquier cosa".
+     *
+     * @param search Texto introducido por el usuario
+     * @return Patrón del tipo %texto%
+     */
+    static String toContainsPattern(String search) {
+        String escaped = search
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,21 +1,47 @@
 package com.example.todolist.service;
 
+import com.example.todolist.cache.MissingTaskCache;
+import com.example.todolist.cache.TaskIdFilter;
+import com.example.todolist.config.CacheConfig;
+import com.example.todolist.dto.BatchCreateResponse;
+import com.example.todolist.dto.BulkOperationResponse;
+import com.example.todolist.dto.BulkTaskRequest;
+import com.example.todolist.dto.CursorPageResponse;
 import com.example.todolist.dto.PageResponse;
+import com.example.todolist.dto.SliceResponse;
+import com.example.todolist.dto.TaskChangeEvent;
+import com.example.todolist.dto.TaskChangesResponse;
 import com.example.todolist.dto.TaskRequest;
 import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.dto.TaskStatsResponse;
 import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskTombstone;
+import com.example.todolist.events.TaskChangeNotifier;
 import com.example.todolist.exception.TaskNotFoundException;
+import com.example.todolist.repository.TaskCounts;
 import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.repository.TaskTombstoneRepository;
+import com.example.todolist.repository.TaskView;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * SERVICIO DE TAREAS
@@ -60,6 +86,42 @@ public class TaskService {
      */
     private final TaskRepository taskRepository;
 
+    /**
+     * Lápidas de tareas eliminadas (sincronización incremental)
+     */
+    private final TaskTombstoneRepository taskTombstoneRepository;
+
+    /**
+     * Búsqueda de texto (texto completo con alternativa trigram)
+     */
+    private final TaskSearchService taskSearchService;
+
+    /**
+     * Validador de Jakarta Validation (el mismo que usa @Valid en los controladores)
+     */
+    private final Validator validator;
+
+    /**
+     * Versión de los listados (ETag de GET /api/v1/tasks)
+     */
+    private final TaskListVersion taskListVersion;
+
+    /**
+     * Publica los cambios para los suscriptores de GET /api/v1/tasks/events
+     */
+    private final TaskChangeNotifier taskChangeNotifier;
+
+    /**
+     * IDs buscados hace poco que no existían (404 sin consultar la BD)
+     */
+    private final MissingTaskCache missingTaskCache;
+
+    /**
+     * Filtro de Bloom con los IDs de todas las tareas (404 sin consultar la
+     * BD, solo en getTaskById)
+     */
+    private final TaskIdFilter taskIdFilter;
+
     /**
      * Crear una nueva tarea
      *
@@ -72,7 +134,7 @@ public class TaskService {
      */
     @Transactional
     public TaskResponse createTask(TaskRequest request) {
-        log.info("Creando nueva tarea con título: {}", request.getTitle());
+        log.debug("Creando nueva tarea con título: {}", request.getTitle());
 
         // Construimos la entidad Task desde el DTO
         // El ID, createdAt y updatedAt se generan automáticamente
@@ -84,6 +146,8 @@ public class TaskService {
 
         // Guardamos en la base de datos
         Task savedTask = taskRepository.save(task);
+        taskListVersion.changed();
+        taskChangeNotifier.publish(TaskChangeEvent.of(TaskChangeEvent.CREATED, savedTask.getId()));
 
         log.info("Tarea creada exitosamente con ID: {}", savedTask.getId());
 
@@ -91,24 +155,120 @@ public class TaskService {
         return TaskResponse.fromEntity(savedTask);
     }
 
+    /**
+     * Crear muchas tareas a la vez (importación masiva)
+     *
+     * Cada elemento se valida con las mismas reglas que createTask (las
+     * anotaciones de TaskRequest). Los elementos válidos se guardan todos en
+     * UNA sola transacción; los inválidos se rechazan y se informa del motivo.
+     *
+     * ¿Por qué es mucho más rápido que N llamadas a createTask?
+     * - Una sola transacción en lugar de N
+     * - Hibernate agrupa los INSERT en lotes (hibernate.jdbc.batch_size en
+     *   application.yml) y el driver los reescribe como INSERT multi-fila
+     *   (reWriteBatchedInserts=true en la URL de conexión)
+     * - Los UUID se generan en Java, así que Hibernate no necesita leer
+     *   nada de la BD tras cada INSERT
+     *
+     * @param requests Lista de tareas a crear
+     * @return Resumen con el resultado de cada elemento
+     */
+    @Transactional
+    public BatchCreateResponse createTasks(List<TaskRequest> requests) {
+        log.debug("Creando {} tareas en lote", requests.size());
+
+        List<BatchCreateResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<Task> tasksToSave = new ArrayList<>(requests.size());
+        // Resultados de los elementos válidos, en el mismo orden que tasksToSave
+        List<BatchCreateResponse.ItemResult> pendingResults = new ArrayList<>(requests.size());
+
+        for (int index = 0; index < requests.size(); index++) {
+            TaskRequest request = requests.get(index);
+            List<String> errors = validate(request);
+
+            BatchCreateResponse.ItemResult result = BatchCreateResponse.ItemResult.builder()
+                    .index(index)
+                    .success(errors.isEmpty())
+                    .errors(errors.isEmpty() ? null : errors)
+                    .build();
+            results.add(result);
+
+            if (errors.isEmpty()) {
+                tasksToSave.add(Task.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .completed(false)
+                        .build());
+                pendingResults.add(result);
+            }
+        }
+
+        // saveAll persiste las entidades nuevas; los INSERT se envían en lotes al hacer flush
+        List<Task> savedTasks = taskRepository.saveAll(tasksToSave);
+        if (!savedTasks.isEmpty()) {
+            taskListVersion.changed();
+            taskChangeNotifier.publish(TaskChangeEvent.bulk("create", savedTasks.size()));
+        }
+        for (int i = 0; i < savedTasks.size(); i++) {
+            pendingResults.get(i).setId(savedTasks.get(i).getId());
+        }
+
+        int created = savedTasks.size();
+        log.info("Lote procesado: {} tareas creadas, {} rechazadas", created, requests.size() - created);
+
+        return BatchCreateResponse.builder()
+                .total(requests.size())
+                .created(created)
+                .rejected(requests.size() - created)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Valida un TaskRequest con las mismas reglas que @Valid en el controlador
+     *
+     * @param request Elemento a validar (puede ser null si el JSON trae "null")
+     * @return Lista de errores con el formato "campo: mensaje" (vacía si es válido)
+     */
+    private List<String> validate(TaskRequest request) {
+        if (request == null) {
+            return List.of("El elemento no puede ser null");
+        }
+        return validator.validate(request)
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
     /**
      * Obtener una tarea por su ID
      *
-     * @Transactional(readOnly = true) optimiza las operaciones de solo lectura
-     * (no bloquea la BD para escrituras)
+     * @Cacheable guarda el resultado en la caché "tasks" (ver CacheConfig).
+     * Si la tarea ya está en caché, este método ni siquiera se ejecuta.
+     *
+     * Los IDs que seguro no existen (ver TaskIdFilter) y los que se buscaron
+     * hace poco sin encontrarlos (ver MissingTaskCache) se rechazan sin
+     * consultar la BD. Por eso el método no abre su
+     * propia transacción: findById ya es de solo lectura, y un ID inexistente
+     * conocido no llega a pedir una conexión al pool.
      *
      * @param id UUID de la tarea a buscar
      * @return TaskResponse con los datos de la tarea
      * @throws TaskNotFoundException si la tarea no existe
      */
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     public TaskResponse getTaskById(UUID id) {
         log.debug("Buscando tarea con ID: {}", id);
 
+        if (!taskIdFilter.mightExist(id) || missingTaskCache.isKnownMissing(id)) {
+            throw new TaskNotFoundException(id);
+        }
+
         // findById devuelve Optional<Task>, usamos orElseThrow para manejar el caso vacío
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.warn("Tarea no encontrada con ID: {}", id);
+                    missingTaskCache.markMissing(id);
                     return new TaskNotFoundException(id);
                 });
 
@@ -121,19 +281,29 @@ public class TaskService {
      * Este método maneja varios casos:
      * 1. Sin filtros: devuelve todas las tareas
      * 2. Con filtro 'completed': solo tareas completadas/pendientes
-     * 3. Con filtro 'q' (búsqueda): busca en título y descripción
+     * 3. Con filtro 'q' (búsqueda): busca en título y descripción, por relevancia
      * 4. Con ambos filtros: combina los criterios
      *
-     * @param completed Filtro por estado (opcional)
-     * @param search    Texto a buscar (opcional)
-     * @param page      Número de página (empieza en 0)
-     * @param size      Cantidad de elementos por página
+     * Las tareas se leen como proyecciones (ver TaskRepository), sin cargar
+     * entidades: llegan ya convertidas en TaskResponse.
+     *
+     * @Cacheable guarda la página en la caché compartida de listados (ver
+     * CacheConfig). sync = true hace que la página se guarde con la
+     * generación leída antes de consultar la BD (ver GenerationalCache).
+     *
+     * @param completed          Filtro por estado (opcional)
+     * @param search             Texto a buscar (opcional)
+     * @param includeDescription false = omitir la descripción (listados de solo títulos)
+     * @param page               Número de página (empieza en 0)
+     * @param size               Cantidad de elementos por página
      * @return PageResponse con las tareas y metadatos de paginación
      */
+    @Cacheable(cacheNames = CacheConfig.TASK_PAGES_CACHE, keyGenerator = "taskListKeyGenerator", sync = true)
     @Transactional(readOnly = true)
     public PageResponse<TaskResponse> getAllTasks(
             Boolean completed,
             String search,
+            boolean includeDescription,
             int page,
             int size
     ) {
@@ -144,36 +314,266 @@ public class TaskService {
         // Ordenamos por fecha de creación descendente (más recientes primero)
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
 
-        Page<Task> tasksPage;
+        Page<TaskResponse> tasksPage;
 
         // Determinamos qué consulta usar según los filtros
         boolean hasSearch = search != null && !search.trim().isEmpty();
         boolean hasCompleted = completed != null;
 
-        if (hasSearch && hasCompleted) {
-            // Caso 1: Buscar por texto Y estado
-            log.debug("Aplicando filtro de búsqueda Y estado");
-            tasksPage = taskRepository.searchByTitleOrDescriptionAndCompleted(
-                    search.trim(), completed, pageable);
-        } else if (hasSearch) {
-            // Caso 2: Solo buscar por texto
+        if (hasSearch) {
+            // Casos 1 y 2: Buscar por texto (y opcionalmente por estado)
+            // Los resultados se ordenan por relevancia, no por fecha
             log.debug("Aplicando filtro de búsqueda");
-            tasksPage = taskRepository.searchByTitleOrDescription(search.trim(), pageable);
+            tasksPage = taskSearchService.search(search.trim(), completed, includeDescription, page, size)
+                    .map(TaskResponse::fromView);
         } else if (hasCompleted) {
             // Caso 3: Solo filtrar por estado
             log.debug("Aplicando filtro de estado");
-            tasksPage = taskRepository.findByCompleted(completed, pageable);
+            tasksPage = taskRepository.findResponsesByCompleted(completed, includeDescription, pageable);
         } else {
             // Caso 4: Sin filtros, devolver todo
             log.debug("Sin filtros, devolviendo todas las tareas");
-            tasksPage = taskRepository.findAll(pageable);
+            tasksPage = taskRepository.findAllResponses(includeDescription, pageable);
         }
 
         log.info("Encontradas {} tareas (página {} de {})",
                 tasksPage.getTotalElements(), page + 1, tasksPage.getTotalPages());
 
-        // Convertimos Page<Task> a PageResponse<TaskResponse>
-        return PageResponse.fromPage(tasksPage, TaskResponse::fromEntity);
+        // Las tareas ya son TaskResponse: solo copiamos los metadatos de paginación
+        return PageResponse.fromPage(tasksPage, Function.identity());
+    }
+
+    /**
+     * Listar tareas con filtros opcionales, SIN calcular los totales
+     *
+     * Hace lo mismo que getAllTasks pero usando Slice en lugar de Page:
+     * Spring Data pide size + 1 filas para saber si hay página siguiente
+     * y se ahorra el SELECT count(*), que en tablas grandes es la parte
+     * más cara de cada listado.
+     *
+     * Cuando no hay filtros, se añade una estimación barata del total
+     * (estadísticas de PostgreSQL). Con filtros no existe una estimación
+     * fiable, así que no se incluye.
+     *
+     * @param completed          Filtro por estado (opcional)
+     * @param search             Texto a buscar (opcional)
+     * @param includeDescription false = omitir la descripción (listados de solo títulos)
+     * @param page               Número de página (empieza en 0)
+     * @param size               Cantidad de elementos por página
+     * @return SliceResponse con las tareas, sin totalElements ni totalPages
+     */
+    @Cacheable(cacheNames = CacheConfig.TASK_SLICES_CACHE, keyGenerator = "taskListKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public SliceResponse<TaskResponse> getAllTasksWithoutTotal(
+            Boolean completed,
+            String search,
+            boolean includeDescription,
+            int page,
+            int size
+    ) {
+        log.debug("Listando tareas sin totales - completed: {}, search: '{}', page: {}, size: {}",
+                completed, search, page, size);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+
+        Slice<TaskResponse> tasksSlice;
+        Long estimatedTotal = null;
+
+        boolean hasSearch = search != null && !search.trim().isEmpty();
+        boolean hasCompleted = completed != null;
+
+        if (hasSearch) {
+            tasksSlice = taskSearchService.searchSlice(search.trim(), completed, includeDescription, page, size)
+                    .map(TaskResponse::fromView);
+        } else if (hasCompleted) {
+            tasksSlice = taskRepository.findResponseSliceByCompleted(completed, includeDescription, pageable);
+        } else {
+            tasksSlice = taskRepository.findAllResponsesAsSlice(includeDescription, pageable);
+            estimatedTotal = taskRepository.estimateCount();
+        }
+
+        log.info("Encontradas {} tareas en la página {} (última: {})",
+                tasksSlice.getNumberOfElements(), page + 1, tasksSlice.isLast());
+
+        return SliceResponse.fromSlice(tasksSlice, Function.identity(), estimatedTotal);
+    }
+
+    /**
+     * Listar tareas con paginación por cursor (keyset)
+     *
+     * A diferencia de getAllTasks, no usa OFFSET: el cursor indica la última
+     * tarea vista y la consulta empieza justo después de ella usando el índice
+     * (created_at, id). Por eso cualquier página cuesta lo mismo que la primera.
+     *
+     * Pedimos size + 1 filas: si llega la fila extra sabemos que hay más
+     * páginas en esa dirección, sin necesidad de contar la tabla.
+     *
+     * @param completed          Filtro por estado (opcional)
+     * @param cursor             Cursor opaco recibido en una respuesta anterior (null = primera página)
+     * @param includeDescription false = omitir la descripción (listados de solo títulos)
+     * @param size               Cantidad de elementos por página
+     * @return CursorPageResponse con las tareas y los cursores de navegación
+     * @throws com.example.todolist.exception.InvalidCursorException si el cursor no es válido
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksByCursor(
+            Boolean completed,
+            String cursor,
+            boolean includeDescription,
+            int size
+    ) {
+        log.debug("Listando tareas por cursor - completed: {}, cursor: '{}', size: {}",
+                completed, cursor, size);
+
+        TaskCursor position = cursor != null ? TaskCursor.decode(cursor) : null;
+        int limit = size + 1;
+
+        List<TaskView> rows;
+        if (position == null) {
+            // Primera página: las tareas más recientes
+            rows = completed != null
+                    ? taskRepository.findFirstByCompletedKeyset(completed, includeDescription, limit)
+                    : taskRepository.findFirstByKeyset(includeDescription, limit);
+        } else if (position.direction() == TaskCursor.Direction.NEXT) {
+            rows = completed != null
+                    ? taskRepository.findAfterByCompletedKeyset(
+                            completed, position.createdAt(), position.id(), includeDescription, limit)
+                    : taskRepository.findAfterKeyset(
+                            position.createdAt(), position.id(), includeDescription, limit);
+        } else {
+            rows = completed != null
+                    ? taskRepository.findBeforeByCompletedKeyset(
+                            completed, position.createdAt(), position.id(), includeDescription, limit)
+                    : taskRepository.findBeforeKeyset(
+                            position.createdAt(), position.id(), includeDescription, limit);
+        }
+
+        // ¿Había más filas en la dirección pedida?
+        boolean hasMore = rows.size() > size;
+        List<TaskResponse> tasks = (hasMore ? rows.subList(0, size) : rows).stream()
+                .map(TaskResponse::fromView)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        boolean backwards = position != null && position.direction() == TaskCursor.Direction.PREVIOUS;
+        if (backwards) {
+            // La página anterior se lee en orden ascendente; la devolvemos en el orden normal
+            Collections.reverse(tasks);
+        }
+
+        // Si venimos hacia atrás, siempre hay página siguiente (de ahí venimos);
+        // si venimos hacia delante desde un cursor, siempre hay página anterior.
+        boolean hasNext = backwards || hasMore;
+        boolean hasPrevious = backwards ? hasMore : position != null;
+
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!tasks.isEmpty()) {
+            if (hasNext) {
+                nextCursor = TaskCursor.of(TaskCursor.Direction.NEXT, tasks.get(tasks.size() - 1)).encode();
+            }
+            if (hasPrevious) {
+                previousCursor = TaskCursor.of(TaskCursor.Direction.PREVIOUS, tasks.get(0)).encode();
+            }
+        }
+
+        log.info("Encontradas {} tareas por cursor (hasNext: {}, hasPrevious: {})",
+                tasks.size(), hasNext, hasPrevious);
+
+        return CursorPageResponse.<TaskResponse>builder()
+                .content(tasks)
+                .size(size)
+                .nextCursor(nextCursor)
+                .previousCursor(previousCursor)
+                .hasNext(nextCursor != null)
+                .hasPrevious(previousCursor != null)
+                .build();
+    }
+
+    /**
+     * Estadísticas de tareas: total, completadas y pendientes
+     *
+     * Los números salen de la tabla task_counters (migración V6), que los
+     * triggers actualizan en la misma transacción que cada INSERT, UPDATE,
+     * DELETE o COPY. Siempre cuadran con la tabla y leerlos no depende del
+     * número de tareas.
+     *
+     * @return TaskStatsResponse con los contadores actuales
+     */
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getStats() {
+        TaskCounts counts = taskRepository.countTasks();
+        return TaskStatsResponse.builder()
+                .total(counts.getTotal())
+                .completed(counts.getCompleted())
+                .pending(counts.getTotal() - counts.getCompleted())
+                .build();
+    }
+
+    /**
+     * Cambios desde la última sincronización del cliente
+     *
+     * Devuelve las tareas creadas o modificadas y los IDs de las eliminadas,
+     * mezclados en orden de número de cambio, como máximo 'size' en total.
+     * El coste depende del número de cambios, no del tamaño de la tabla.
+     *
+     * Ver SyncToken para entender por qué se usan identificadores de
+     * transacción además del número de cambio.
+     *
+     * @param since Token de la sincronización anterior (null = todas las tareas)
+     * @param size  Número máximo de cambios en esta página
+     * @return Cambios, token siguiente y si quedan más
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChangesSince(String since, int size) {
+        log.debug("Buscando cambios - since: '{}', size: {}", since, size);
+
+        SyncToken token = since == null ? SyncToken.initial() : SyncToken.decode(since);
+
+        // Al empezar una ronda se anota la transacción más antigua aún abierta
+        // ANTES de leer: sus cambios entrarán seguro en la ronda siguiente
+        long roundXmin = token.isRoundStart()
+                ? taskRepository.currentSnapshotXmin()
+                : token.roundXmin();
+
+        // Pedimos size + 1 de cada tipo para saber si quedan más
+        List<Task> tasks = taskRepository.findChangedSince(token.sinceXid(), token.afterSeq(), size + 1);
+        List<TaskTombstone> tombstones =
+                taskTombstoneRepository.findDeletedSince(token.sinceXid(), token.afterSeq(), size + 1);
+
+        // Mezcla de las dos listas (ya ordenadas) por número de cambio
+        List<TaskResponse> changed = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        long lastSeq = token.afterSeq();
+        int t = 0;
+        int d = 0;
+        while (t + d < size && (t < tasks.size() || d < tombstones.size())) {
+            boolean nextIsTask = d >= tombstones.size()
+                    || (t < tasks.size() && tasks.get(t).getChangeSeq() < tombstones.get(d).getChangeSeq());
+            if (nextIsTask) {
+                Task task = tasks.get(t++);
+                changed.add(TaskResponse.fromEntity(task));
+                lastSeq = task.getChangeSeq();
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                deleted.add(tombstone.getTaskId());
+                lastSeq = tombstone.getChangeSeq();
+            }
+        }
+
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        SyncToken next = hasMore
+                ? new SyncToken(token.sinceXid(), lastSeq, roundXmin)
+                : SyncToken.startOfRound(roundXmin);
+
+        log.info("Sincronización: {} tareas cambiadas, {} eliminadas (hasMore: {})",
+                changed.size(), deleted.size(), hasMore);
+
+        return TaskChangesResponse.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
     }
 
     /**
@@ -182,33 +582,29 @@ public class TaskService {
      * Actualiza todos los campos editables (title, description, completed)
      * con los valores del request.
      *
+     * Se hace en una sola sentencia (UPDATE ... RETURNING): no hace falta
+     * leer la tarea antes, PostgreSQL nos devuelve directamente su estado final.
+     *
+     * @CachePut guarda en caché la versión actualizada de la tarea.
+     *
      * @param id      UUID de la tarea a actualizar
      * @param request DTO con los nuevos datos
      * @return TaskResponse con los datos actualizados
      * @throws TaskNotFoundException si la tarea no existe
      */
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     @Transactional
     public TaskResponse updateTask(UUID id, TaskRequest request) {
-        log.info("Actualizando tarea con ID: {}", id);
-
-        // Primero verificamos que la tarea existe
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("No se puede actualizar: tarea no encontrada con ID: {}", id);
-                    return new TaskNotFoundException(id);
-                });
-
-        // Actualizamos los campos
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-
-        // Solo actualizamos 'completed' si viene en el request
-        if (request.getCompleted() != null) {
-            task.setCompleted(request.getCompleted());
-        }
-
-        // El updatedAt se actualiza automáticamente gracias a @UpdateTimestamp
-        Task updatedTask = taskRepository.save(task);
+        log.debug("Actualizando tarea con ID: {}", id);
+        // 'completed' solo se actualiza si viene en el request (null = mantener el actual)
+        Task updatedTask = taskRepository.updateReturning(
+                        id,
+                        request.getTitle(),
+                        request.getDescription(),
+                        request.getCompleted())
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        taskListVersion.changed();
+        taskChangeNotifier.publish(TaskChangeEvent.of(TaskChangeEvent.UPDATED, id));
 
         log.info("Tarea actualizada exitosamente: {}", id);
 
@@ -221,24 +617,23 @@ public class TaskService {
      * Si está completada -> pasa a pendiente
      * Si está pendiente -> pasa a completada
      *
+     * Se hace en una sola sentencia: UPDATE tasks SET completed = NOT completed
+     * ... RETURNING *. Si no se devuelve ninguna fila, la tarea no existe.
+     *
+     * @CachePut guarda en caché la tarea con su nuevo estado.
+     *
      * @param id UUID de la tarea
      * @return TaskResponse con el nuevo estado
      * @throws TaskNotFoundException si la tarea no existe
      */
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     @Transactional
     public TaskResponse toggleTaskCompleted(UUID id) {
-        log.info("Alternando estado de tarea con ID: {}", id);
-
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("No se puede alternar: tarea no encontrada con ID: {}", id);
-                    return new TaskNotFoundException(id);
-                });
-
-        // Usamos el método de conveniencia de la entidad
-        task.toggleCompleted();
-
-        Task updatedTask = taskRepository.save(task);
+        log.debug("Alternando estado de tarea con ID: {}", id);
+        Task updatedTask = taskRepository.toggleCompletedReturning(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        taskListVersion.changed();
+        taskChangeNotifier.publish(TaskChangeEvent.of(TaskChangeEvent.TOGGLED, id));
 
         log.info("Tarea {} ahora está: {}",
                 id, updatedTask.getCompleted() ? "COMPLETADA" : "PENDIENTE");
@@ -249,21 +644,143 @@ public class TaskService {
     /**
      * Eliminar una tarea
      *
+     * @CacheEvict borra la tarea de la caché.
+     *
      * @param id UUID de la tarea a eliminar
      * @throws TaskNotFoundException si la tarea no existe
      */
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     @Transactional
     public void deleteTask(UUID id) {
-        log.info("Eliminando tarea con ID: {}", id);
-
-        // Verificamos que existe antes de eliminar
-        if (!taskRepository.existsById(id)) {
-            log.warn("No se puede eliminar: tarea no encontrada con ID: {}", id);
+        log.debug("Eliminando tarea con ID: {}", id);
+        // Un solo DELETE: si no se eliminó ninguna fila, la tarea no existía
+        if (taskRepository.deleteTaskById(id) == 0) {
             throw new TaskNotFoundException(id);
         }
-
-        taskRepository.deleteById(id);
+        taskListVersion.changed();
+        taskChangeNotifier.publish(TaskChangeEvent.of(TaskChangeEvent.DELETED, id));
 
         log.info("Tarea eliminada exitosamente: {}", id);
     }
+
+    // =========================================================================
+    // OPERACIONES MASIVAS
+    // =========================================================================
+
+    /**
+     * Marcar muchas tareas como completadas o pendientes
+     *
+     * Se ejecuta como un único UPDATE sobre todas las tareas afectadas.
+     *
+     * @CacheEvict(allEntries = true) vacía la caché de tareas: pueden haber
+     * cambiado muchas y no sabemos cuáles sin consultarlas.
+     *
+     * @param request IDs o filtro de las tareas afectadas
+     * @param value   true = completar, false = reabrir
+     * @return Número de tareas que cambiaron de estado
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    @Transactional
+    public BulkOperationResponse bulkSetCompleted(BulkTaskRequest request, boolean value) {
+        String operation = value ? "complete" : "reopen";
+        if (log.isDebugEnabled()) {
+            log.debug("Operación masiva '{}' sobre {}", operation, describeTarget(request));
+        }
+
+        int affected;
+        if (request.getIds() != null) {
+            affected = taskRepository.setCompletedByIds(request.getIds(), value);
+        } else {
+            BulkTaskRequest.Filter filter = request.getFilter();
+            TaskSearchService.SearchCriteria criteria =
+                    taskSearchService.resolveCriteria(filter.getQ(), filter.getCompleted());
+            affected = taskRepository.setCompletedByFilter(
+                    value, filter.getCompleted(), criteria.tsQuery(), criteria.pattern());
+        }
+
+        if (affected > 0) {
+            taskListVersion.changed();
+            taskChangeNotifier.publish(TaskChangeEvent.bulk(operation, affected));
+        }
+
+        log.info("Operación masiva '{}' completada: {} tareas afectadas", operation, affected);
+        return new BulkOperationResponse(operation, affected);
+    }
+
+    /**
+     * Alternar el estado de muchas tareas a la vez
+     *
+     * @param request IDs o filtro de las tareas afectadas
+     * @return Número de tareas alternadas
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    @Transactional
+    public BulkOperationResponse bulkToggle(BulkTaskRequest request) {
+        if (log.isDebugEnabled()) {
+            log.debug("Operación masiva 'toggle' sobre {}", describeTarget(request));
+        }
+
+        int affected;
+        if (request.getIds() != null) {
+            affected = taskRepository.toggleCompletedByIds(request.getIds());
+        } else {
+            BulkTaskRequest.Filter filter = request.getFilter();
+            TaskSearchService.SearchCriteria criteria =
+                    taskSearchService.resolveCriteria(filter.getQ(), filter.getCompleted());
+            affected = taskRepository.toggleCompletedByFilter(
+                    filter.getCompleted(), criteria.tsQuery(), criteria.pattern());
+        }
+
+        if (affected > 0) {
+            taskListVersion.changed();
+            taskChangeNotifier.publish(TaskChangeEvent.bulk("toggle", affected));
+        }
+
+        log.info("Operación masiva 'toggle' completada: {} tareas afectadas", affected);
+        return new BulkOperationResponse("toggle", affected);
+    }
+
+    /**
+     * Eliminar muchas tareas a la vez
+     *
+     * @param request IDs o filtro de las tareas a eliminar
+     * @return Número de tareas eliminadas
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    @Transactional
+    public BulkOperationResponse bulkDelete(BulkTaskRequest request) {
+        if (log.isDebugEnabled()) {
+            log.debug("Operación masiva 'delete' sobre {}", describeTarget(request));
+        }
+
+        int affected;
+        if (request.getIds() != null) {
+            affected = taskRepository.deleteByIds(request.getIds());
+        } else {
+            BulkTaskRequest.Filter filter = request.getFilter();
+            TaskSearchService.SearchCriteria criteria =
+                    taskSearchService.resolveCriteria(filter.getQ(), filter.getCompleted());
+            affected = taskRepository.deleteByFilter(
+                    filter.getCompleted(), criteria.tsQuery(), criteria.pattern());
+        }
+
+        if (affected > 0) {
+            taskListVersion.changed();
+            taskChangeNotifier.publish(TaskChangeEvent.bulk("delete", affected));
+        }
+
+        log.info("Operación masiva 'delete' completada: {} tareas eliminadas", affected);
+        return new BulkOperationResponse("delete", affected);
+    }
+
+    /**
+     * Describe el objetivo de una operación masiva para los logs
+     */
+    private static String describeTarget(BulkTaskRequest request) {
+        if (request.getIds() != null) {
+            return request.getIds().size() + " IDs";
+        }
+        return "filtro completed=" + request.getFilter().getCompleted()
+                + ", q='" + request.getFilter().getQ() + "'";
+    }
 }
@@ -0,0 +1,43 @@
+-- =============================================================================
+-- MIGRACIÓN V2: Índices para paginación por cursor (keyset / seek)
+-- =============================================================================
+-- La paginación clásica (page/size) usa OFFSET: para llegar a la página 5.000
+-- PostgreSQL tiene que leer y descartar todas las filas anteriores, por lo que
+-- cada página es más lenta que la anterior.
+--
+-- La paginación por cursor recuerda la última fila vista (created_at, id) y
+-- pide "las siguientes N filas después de esta":
+--
+--   WHERE (created_at, id) < (:createdAt, :id)
+--   ORDER BY created_at DESC, id DESC
+--   LIMIT :limit
+--
+-- Con un índice compuesto en el mismo orden, PostgreSQL salta directamente a
+-- la posición del cursor y lee solo N filas. La página 5.000 cuesta lo mismo
+-- que la página 0.
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- ÍNDICE: (created_at, id)
+-- -----------------------------------------------------------------------------
+-- El 'id' desempata las tareas creadas en el mismo instante, de modo que el
+-- orden es total y ninguna fila se repite ni se pierde entre páginas.
+-- El mismo índice recorrido hacia atrás sirve para la página anterior.
+-- -----------------------------------------------------------------------------
+CREATE INDEX idx_tasks_created_at_id ON tasks(created_at DESC, id DESC);
+
+-- -----------------------------------------------------------------------------
+-- ÍNDICE: (completed, created_at, id)
+-- -----------------------------------------------------------------------------
+-- Útil para: GET /tasks?pagination=cursor&completed=false
+-- El filtro por igualdad va primero y el orden del cursor después.
+-- -----------------------------------------------------------------------------
+CREATE INDEX idx_tasks_completed_created_at_id ON tasks(completed, created_at DESC, id DESC);
+
+-- -----------------------------------------------------------------------------
+-- LIMPIEZA
+-- -----------------------------------------------------------------------------
+-- idx_tasks_created_at (V1) es un prefijo del nuevo índice compuesto, así que
+-- ya no aporta nada y solo encarece cada INSERT.
+-- -----------------------------------------------------------------------------
+DROP INDEX IF EXISTS idx_tasks_created_at;
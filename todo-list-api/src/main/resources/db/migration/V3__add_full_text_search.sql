@@ -0,0 +1,44 @@
+-- =============================================================================
+-- MIGRACIÓN V3: Búsqueda de texto completo (full-text search)
+-- =============================================================================
+-- Hasta ahora ?q= usaba LOWER(title) LIKE '%texto%'. Los índices trigram de V1
+-- están creados sobre 'title' y 'description', no sobre LOWER(...), así que
+-- PostgreSQL no podía usarlos y recorría la tabla entera en cada búsqueda.
+--
+-- Ahora la búsqueda principal usa el motor de texto completo de PostgreSQL:
+-- - Una columna 'search_vector' (tsvector) con las palabras normalizadas
+-- - Un índice GIN sobre ella
+-- - Ranking por relevancia con ts_rank (el título pesa más que la descripción)
+--
+-- Los índices trigram de V1 se mantienen: el servicio los usa con ILIKE como
+-- alternativa para fragmentos que no son palabras completas ni prefijos
+-- (por ejemplo "eche" dentro de "leche").
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- COLUMNA: search_vector
+-- -----------------------------------------------------------------------------
+-- GENERATED ALWAYS AS (...) STORED: PostgreSQL la calcula y actualiza sola en
+-- cada INSERT/UPDATE. La aplicación nunca la escribe (no está en la entidad).
+--
+-- setweight asigna un peso a cada parte:
+-- - 'A' (máximo) para el título
+-- - 'B' para la descripción
+--
+-- Usamos la configuración 'spanish' para que "compras" y "comprar" se reduzcan
+-- a la misma raíz ("compr").
+-- -----------------------------------------------------------------------------
+ALTER TABLE tasks
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- -----------------------------------------------------------------------------
+-- ÍNDICE GIN para búsquedas con @@
+-- -----------------------------------------------------------------------------
+-- Útil para: GET /tasks?q=comprar
+-- -----------------------------------------------------------------------------
+CREATE INDEX idx_tasks_search_vector ON tasks USING gin(search_vector);
+
+COMMENT ON COLUMN tasks.search_vector IS 'Vector de búsqueda de texto completo (título peso A, descripción peso B), generado automáticamente';
@@ -0,0 +1,57 @@
+-- =============================================================================
+-- MIGRACIÓN V4: Claves primarias UUIDv7 (ordenadas por tiempo)
+-- =============================================================================
+-- Hasta ahora los IDs eran UUID v4 (totalmente aleatorios). Cada INSERT caía
+-- en una posición aleatoria del índice B-tree de la clave primaria, lo que
+-- provoca divisiones de página por todo el índice, más tamaño y peor caché.
+--
+-- La aplicación ahora genera UUIDv7 (ver UuidV7.java): empiezan por la marca
+-- de tiempo, así que los INSERT nuevos van siempre al final del índice.
+--
+-- ¿Qué pasa con las filas existentes?
+-- -----------------------------------
+-- Se quedan con su UUID v4. Los IDs forman parte de la API pública (los
+-- clientes los guardan), así que no los reescribimos automáticamente.
+-- v4 y v7 son UUIDs válidos y no pueden colisionar entre sí (el número de
+-- versión forma parte del propio UUID), así que conviven sin problema.
+-- A medida que se insertan filas nuevas, el índice crece solo por el final.
+--
+-- Si una instalación puede permitirse cambiar los IDs antiguos (por ejemplo,
+-- en una migración de datos sin clientes conectados), el script opcional
+-- db/optional/rewrite_task_ids_to_v7.sql los convierte a v7 a partir de
+-- created_at. NO forma parte de las migraciones automáticas.
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- FUNCIÓN: uuid_generate_v7(instante)
+-- -----------------------------------------------------------------------------
+-- Genera un UUIDv7 en PostgreSQL, para las filas insertadas directamente por
+-- SQL (scripts, psql, COPY...) que no pasan por la aplicación.
+--
+-- Parte de un UUID v4 aleatorio (gen_random_uuid, incluido desde PostgreSQL 13),
+-- sustituye los 6 primeros bytes por los milisegundos del instante y cambia
+-- la versión de 4 a 7. La variante (10xx) ya es la correcta.
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION uuid_generate_v7(ts TIMESTAMP WITH TIME ZONE DEFAULT clock_timestamp())
+RETURNS UUID
+LANGUAGE plpgsql
+VOLATILE
+AS $$
+DECLARE
+    millis BIGINT := floor(extract(epoch FROM ts) * 1000);
+    bytes  BYTEA  := uuid_send(gen_random_uuid());
+BEGIN
+    -- Bytes 0-5: marca de tiempo en milisegundos (big-endian)
+    bytes := overlay(bytes PLACING substring(int8send(millis) FROM 3) FROM 1 FOR 6);
+    -- Byte 6: los 4 bits altos indican la versión (0111 = 7)
+    bytes := set_byte(bytes, 6, (get_byte(bytes, 6) & 15) | 112);
+    RETURN encode(bytes, 'hex')::UUID;
+END;
+$$;
+
+-- -----------------------------------------------------------------------------
+-- VALOR POR DEFECTO DE tasks.id
+-- -----------------------------------------------------------------------------
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+COMMENT ON COLUMN tasks.id IS 'Identificador único de la tarea (UUID v7 ordenado por tiempo; las filas anteriores a V4 conservan su UUID v4)';
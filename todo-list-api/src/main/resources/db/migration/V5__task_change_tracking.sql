@@ -0,0 +1,128 @@
+-- =============================================================================
+-- MIGRACIÓN V5: Registro de cambios para la sincronización incremental
+-- =============================================================================
+-- GET /api/v1/tasks/changes devuelve solo las tareas creadas, modificadas o
+-- eliminadas desde la última sincronización del cliente, en lugar de toda
+-- la lista. Para ello cada cambio queda marcado en la propia fila:
+--
+-- - change_seq: número de secuencia global y creciente. Cada INSERT o UPDATE
+--   de una tarea (y cada borrado) recibe uno nuevo. Ordena los cambios y
+--   permite paginar la respuesta.
+--
+-- - change_xid: transacción que hizo el cambio (pg_current_xact_id()).
+--   ¿Por qué no basta con change_seq? Dos transacciones pueden obtener los
+--   números 10 y 11 y confirmar en orden inverso: un cliente que sincroniza
+--   justo entre ambos commits ve el 11 y se saltaría el 10 para siempre.
+--   Con change_xid el servidor pide "todo lo escrito por transacciones que
+--   aún no habían terminado en la sincronización anterior" (ver
+--   TaskService.getChangesSince), así que ningún cambio se pierde.
+--
+-- - task_tombstones: las tareas eliminadas ya no tienen fila en 'tasks', así
+--   que se guarda una "lápida" (su ID y su número de cambio) para que los
+--   clientes sepan que deben borrarla.
+--
+-- Todo se mantiene con triggers, así que cubre también los cambios hechos
+-- directamente por SQL, las operaciones masivas y los borrados en lote.
+--
+-- Las lápidas se conservan indefinidamente (solo ocupan un UUID y dos números
+-- por tarea eliminada).
+-- =============================================================================
+
+CREATE SEQUENCE task_change_seq;
+
+-- -----------------------------------------------------------------------------
+-- COLUMNAS EN tasks
+-- -----------------------------------------------------------------------------
+ALTER TABLE tasks
+    ADD COLUMN change_seq BIGINT,
+    ADD COLUMN change_xid XID8;
+
+-- Las tareas existentes reciben números en orden de creación
+UPDATE tasks t
+SET change_seq = o.rn,
+    change_xid = pg_current_xact_id()
+FROM (SELECT id, row_number() OVER (ORDER BY created_at, id) AS rn FROM tasks) o
+WHERE t.id = o.id;
+
+SELECT setval('task_change_seq', COALESCE((SELECT max(change_seq) FROM tasks), 0) + 1, false);
+
+ALTER TABLE tasks
+    ALTER COLUMN change_seq SET DEFAULT nextval('task_change_seq'),
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id(),
+    ALTER COLUMN change_xid SET NOT NULL;
+
+ALTER SEQUENCE task_change_seq OWNED BY tasks.change_seq;
+
+-- Sincronización normal: pocas filas con change_xid reciente
+CREATE INDEX idx_tasks_change_xid ON tasks (change_xid);
+-- Primera sincronización (todas las tareas): recorrido paginado por change_seq
+CREATE UNIQUE INDEX idx_tasks_change_seq ON tasks (change_seq);
+
+COMMENT ON COLUMN tasks.change_seq IS 'Número de cambio global (crece con cada INSERT/UPDATE)';
+COMMENT ON COLUMN tasks.change_xid IS 'Transacción que hizo el último cambio';
+
+-- -----------------------------------------------------------------------------
+-- TRIGGER: nuevo número de cambio en cada UPDATE
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION tasks_track_change()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.change_seq := nextval('task_change_seq');
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$;
+
+-- Solo si cambia algún dato visible para el cliente (un UPDATE que no cambia
+-- nada no es un cambio). No se puede usar OLD.* IS DISTINCT FROM NEW.*: la
+-- tabla tiene una columna generada (search_vector) y PostgreSQL no permite
+-- referenciar la fila NEW completa en la condición de un trigger BEFORE.
+CREATE TRIGGER trg_tasks_track_change
+    BEFORE UPDATE ON tasks
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title
+          OR OLD.description IS DISTINCT FROM NEW.description
+          OR OLD.completed IS DISTINCT FROM NEW.completed
+          OR OLD.updated_at IS DISTINCT FROM NEW.updated_at)
+    EXECUTE FUNCTION tasks_track_change();
+
+-- -----------------------------------------------------------------------------
+-- TABLA: task_tombstones (tareas eliminadas)
+-- -----------------------------------------------------------------------------
+CREATE TABLE task_tombstones (
+    task_id    UUID PRIMARY KEY,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    change_seq BIGINT NOT NULL DEFAULT nextval('task_change_seq'),
+    change_xid XID8 NOT NULL DEFAULT pg_current_xact_id()
+);
+
+CREATE INDEX idx_task_tombstones_change_xid ON task_tombstones (change_xid);
+CREATE UNIQUE INDEX idx_task_tombstones_change_seq ON task_tombstones (change_seq);
+
+COMMENT ON TABLE task_tombstones IS 'Tareas eliminadas, para la sincronización incremental';
+
+-- -----------------------------------------------------------------------------
+-- TRIGGER: una lápida por cada tarea eliminada
+-- -----------------------------------------------------------------------------
+-- Trigger por sentencia con "tabla de transición": un DELETE que borra 10.000
+-- tareas hace un único INSERT ... SELECT, en lugar de 10.000 llamadas.
+CREATE OR REPLACE FUNCTION tasks_record_tombstones()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    INSERT INTO task_tombstones (task_id)
+    SELECT id FROM deleted_tasks
+    ON CONFLICT (task_id) DO NOTHING;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_tasks_record_tombstones
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_record_tombstones();
@@ -0,0 +1,115 @@
+-- =============================================================================
+-- MIGRACIÓN V6: Contadores de tareas (total, completadas)
+-- =============================================================================
+-- GET /api/v1/tasks/stats y TaskRepository.countByCompleted necesitan el
+-- número de tareas. Un count(*) recorre toda la tabla cada vez: con millones
+-- de tareas tarda lo mismo que exportarlas. Aquí los contadores se mantienen
+-- con triggers y leerlos cuesta lo mismo tenga la tabla 10 filas o 10 millones.
+--
+-- ¿Por qué varias filas ("franjas") y no una sola?
+-- ------------------------------------------------
+-- Actualizar un contador bloquea su fila HASTA EL COMMIT. Con una sola fila,
+-- todas las escrituras concurrentes (crear, alternar, borrar) esperarían
+-- unas a otras en ella. Con 16 franjas, cada transacción actualiza solo la
+-- suya y las demás siguen en paralelo. El valor real es la suma de todas.
+--
+-- La franja se elige por el ID de la transacción (pg_current_xact_id):
+-- - todas las sentencias de una misma transacción usan la MISMA franja, así
+--   que dos transacciones nunca se bloquean en orden cruzado (sin deadlocks)
+-- - transacciones distintas se reparten entre las 16 franjas
+--
+-- Como los de V5, son triggers por sentencia con tabla de transición: un
+-- UPDATE masivo o un COPY de un millón de filas actualiza el contador UNA
+-- vez, no un millón.
+-- =============================================================================
+
+CREATE TABLE task_counters (
+    shard     SMALLINT PRIMARY KEY,
+    total     BIGINT NOT NULL DEFAULT 0,
+    completed BIGINT NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE task_counters IS 'Contadores de tareas repartidos en franjas (el valor real es la suma)';
+
+-- La franja 0 parte con los valores actuales; el resto, a cero
+INSERT INTO task_counters (shard, total, completed)
+SELECT 0, count(*), count(*) FILTER (WHERE completed)
+FROM tasks;
+
+INSERT INTO task_counters (shard)
+SELECT g FROM generate_series(1, 15) g;
+
+-- -----------------------------------------------------------------------------
+-- FUNCIÓN: sumar una diferencia a la franja de la transacción actual
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION task_counters_add(total_delta BIGINT, completed_delta BIGINT)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF total_delta = 0 AND completed_delta = 0 THEN
+        RETURN;
+    END IF;
+    UPDATE task_counters
+    SET total = total + total_delta,
+        completed = completed + completed_delta
+    WHERE shard = (pg_current_xact_id()::TEXT::BIGINT % 16);
+END;
+$$;
+
+-- -----------------------------------------------------------------------------
+-- TRIGGERS: INSERT (incluye COPY), UPDATE y DELETE
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION tasks_count_inserted()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM task_counters_add(count(*), count(*) FILTER (WHERE completed))
+    FROM inserted_tasks;
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION tasks_count_updated()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    -- Solo cambia el número de completadas (alternar, completar, reabrir...)
+    PERFORM task_counters_add(
+        0,
+        (SELECT count(*) FILTER (WHERE completed) FROM updated_tasks)
+            - (SELECT count(*) FILTER (WHERE completed) FROM previous_tasks));
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION tasks_count_deleted()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM task_counters_add(-count(*), -count(*) FILTER (WHERE completed))
+    FROM deleted_tasks;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_tasks_count_inserted
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS inserted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_count_inserted();
+
+CREATE TRIGGER trg_tasks_count_updated
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS previous_tasks NEW TABLE AS updated_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_count_updated();
+
+CREATE TRIGGER trg_tasks_count_deleted
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_count_deleted();
@@ -0,0 +1,270 @@
+-- =============================================================================
+-- MIGRACIÓN V7: Tabla 'tasks' particionada por mes (created_at)
+-- =============================================================================
+-- Con decenas de millones de tareas, una sola tabla y sus índices (sobre
+-- todo los GIN de trigramas y de texto completo) son demasiado grandes: el
+-- VACUUM tarda horas y casi nada cabe en caché, aunque solo se consulten las
+-- tareas recientes.
+--
+-- Ahora 'tasks' es una tabla particionada por rangos de created_at, con una
+-- partición por mes (tasks_2026_11, tasks_2026_12...). Cada partición tiene
+-- sus propios índices, pequeños, y:
+--
+-- - las consultas que filtran u ordenan por created_at (listados, paginación
+--   por cursor) solo leen las particiones necesarias ("partition pruning"),
+--   empezando por la más reciente
+-- - el VACUUM trabaja partición a partición; las antiguas ya no cambian
+-- - una partición antigua se archiva con detach_task_partition() en lugar de
+--   un DELETE de millones de filas: 'tasks' no acumula filas muertas ni hay
+--   que actualizar sus índices. No es gratis: la función lee la partición
+--   entera y escribe una lápida por tarea (ver su comentario)
+--
+-- ¿Qué pasa con las filas existentes?
+-- -----------------------------------
+-- NO se copian: la tabla actual pasa a ser la partición 'tasks_legacy', que
+-- cubre todo hasta el final del mes en curso. Copiar decenas de millones de
+-- filas dejaría la aplicación parada mucho tiempo. Esta migración solo:
+-- - reconstruye dos índices de tasks_legacy (la clave primaria, que ahora
+--   incluye created_at, y el de change_seq, que deja de ser UNIQUE)
+-- - la recorre una vez para comprobar que sus filas caben en su rango
+-- Las tareas nuevas van ya a particiones mensuales. Para repartir también
+-- las antiguas, ver db/optional/split_legacy_task_partition.sql.
+--
+-- Restricciones de PostgreSQL con tablas particionadas:
+-- - La clave primaria debe incluir la columna de partición: ahora es
+--   (id, created_at). Los IDs siguen siendo UUID únicos (los genera la
+--   aplicación o uuid_generate_v7), pero la BD ya no lo comprueba por sí sola
+--   entre particiones distintas.
+-- - Por el mismo motivo, el índice de change_seq ya no es UNIQUE; los valores
+--   siguen siendo únicos porque salen de una secuencia.
+-- - Una consulta por ID (GET /api/v1/tasks/{id}) no sabe en qué mes está la
+--   tarea y busca en el índice de cada partición. Con pocas decenas de
+--   particiones sigue siendo rápido, y casi siempre la resuelve la caché.
+--
+-- Particiones futuras
+-- -------------------
+-- create_task_partitions() crea las particiones del mes actual y los
+-- siguientes. La migración la llama una vez y la aplicación cada día (ver
+-- TaskPartitionMaintenance), siempre con varios meses de margen: no hay
+-- partición DEFAULT, así que un INSERT sin partición fallaría.
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- 1. La tabla actual pasa a llamarse tasks_legacy
+-- -----------------------------------------------------------------------------
+-- Los nombres de índices y triggers son únicos en el esquema, así que se
+-- renombran para dejar los nombres originales a la tabla particionada.
+ALTER TABLE tasks RENAME TO tasks_legacy;
+
+ALTER INDEX idx_tasks_completed RENAME TO tasks_legacy_completed_idx;
+ALTER INDEX idx_tasks_created_at_id RENAME TO tasks_legacy_created_at_id_idx;
+ALTER INDEX idx_tasks_completed_created_at_id RENAME TO tasks_legacy_completed_created_at_id_idx;
+ALTER INDEX idx_tasks_title_trgm RENAME TO tasks_legacy_title_trgm_idx;
+ALTER INDEX idx_tasks_description_trgm RENAME TO tasks_legacy_description_trgm_idx;
+ALTER INDEX idx_tasks_search_vector RENAME TO tasks_legacy_search_vector_idx;
+ALTER INDEX idx_tasks_change_xid RENAME TO tasks_legacy_change_xid_idx;
+
+-- Se vuelven a crear (incompatibles con una tabla particionada)
+ALTER TABLE tasks_legacy DROP CONSTRAINT tasks_pkey;
+ALTER TABLE tasks_legacy ALTER COLUMN id SET NOT NULL;
+DROP INDEX idx_tasks_change_seq;
+
+-- Los triggers se definen en la tabla particionada (más abajo). Los que
+-- usan tablas de transición no se permiten en una partición.
+DROP TRIGGER trg_tasks_track_change ON tasks_legacy;
+DROP TRIGGER trg_tasks_record_tombstones ON tasks_legacy;
+DROP TRIGGER trg_tasks_count_inserted ON tasks_legacy;
+DROP TRIGGER trg_tasks_count_updated ON tasks_legacy;
+DROP TRIGGER trg_tasks_count_deleted ON tasks_legacy;
+
+-- La secuencia de cambios pasará a pertenecer a la nueva tabla
+ALTER SEQUENCE task_change_seq OWNED BY NONE;
+
+-- -----------------------------------------------------------------------------
+-- 2. Tabla particionada (mismas columnas, mismos valores por defecto)
+-- -----------------------------------------------------------------------------
+CREATE TABLE tasks (
+    id            UUID NOT NULL DEFAULT uuid_generate_v7(),
+    title         VARCHAR(120) NOT NULL,
+    description   VARCHAR(2000),
+    completed     BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(description, '')), 'B')
+    ) STORED,
+    change_seq    BIGINT NOT NULL DEFAULT nextval('task_change_seq'),
+    change_xid    XID8 NOT NULL DEFAULT pg_current_xact_id()
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE task_change_seq OWNED BY tasks.change_seq;
+
+-- -----------------------------------------------------------------------------
+-- 3. tasks_legacy: partición desde el principio hasta el final de este mes
+-- -----------------------------------------------------------------------------
+-- Los meses se cuentan en UTC, igual que en create_task_partitions().
+DO $$
+BEGIN
+    EXECUTE format(
+        'ALTER TABLE tasks ATTACH PARTITION tasks_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '1 month') AT TIME ZONE 'UTC');
+END;
+$$;
+
+-- -----------------------------------------------------------------------------
+-- 4. Índices de la tabla particionada
+-- -----------------------------------------------------------------------------
+-- Se crean en cada partición. En tasks_legacy se reutilizan los índices
+-- existentes equivalentes (no se reconstruyen), salvo la clave primaria y
+-- change_seq, que han cambiado.
+ALTER TABLE tasks ADD CONSTRAINT tasks_pkey PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_tasks_completed ON tasks (completed);
+CREATE INDEX idx_tasks_created_at_id ON tasks (created_at DESC, id DESC);
+CREATE INDEX idx_tasks_completed_created_at_id ON tasks (completed, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_title_trgm ON tasks USING gin (title gin_trgm_ops);
+CREATE INDEX idx_tasks_description_trgm ON tasks USING gin (description gin_trgm_ops);
+CREATE INDEX idx_tasks_search_vector ON tasks USING gin (search_vector);
+CREATE INDEX idx_tasks_change_xid ON tasks (change_xid);
+CREATE INDEX idx_tasks_change_seq ON tasks (change_seq);
+
+-- -----------------------------------------------------------------------------
+-- 5. Triggers de V5 (sincronización) y V6 (contadores)
+-- -----------------------------------------------------------------------------
+-- Los de fila (FOR EACH ROW) se copian a cada partición, también a las que
+-- se creen después. Los de sentencia se disparan una vez por sentencia
+-- contra 'tasks', sea cual sea el número de particiones afectadas.
+CREATE TRIGGER trg_tasks_track_change
+    BEFORE UPDATE ON tasks
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title
+          OR OLD.description IS DISTINCT FROM NEW.description
+          OR OLD.completed IS DISTINCT FROM NEW.completed
+          OR OLD.updated_at IS DISTINCT FROM NEW.updated_at)
+    EXECUTE FUNCTION tasks_track_change();
+
+CREATE TRIGGER trg_tasks_record_tombstones
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_record_tombstones();
+
+CREATE TRIGGER trg_tasks_count_inserted
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS inserted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_count_inserted();
+
+CREATE TRIGGER trg_tasks_count_updated
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS previous_tasks NEW TABLE AS updated_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_count_updated();
+
+CREATE TRIGGER trg_tasks_count_deleted
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION tasks_count_deleted();
+
+-- -----------------------------------------------------------------------------
+-- 6. FUNCIÓN: create_task_partitions(meses)
+-- -----------------------------------------------------------------------------
+-- Crea las particiones mensuales del mes actual y de los 'months_ahead'
+-- siguientes que aún no existan. Devuelve cuántas ha creado.
+--
+-- Se puede llamar tantas veces como se quiera y desde varias réplicas a la
+-- vez: un bloqueo consultivo evita que dos llamadas creen la misma.
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION create_task_partitions(months_ahead INT DEFAULT 3)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    this_month     TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC');
+    month_start    TIMESTAMP;
+    partition_name TEXT;
+    created        INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_task_partitions'));
+
+    FOR i IN 0..months_ahead LOOP
+        month_start := this_month + make_interval(months => i);
+        partition_name := 'tasks_' || to_char(month_start, 'YYYY_MM');
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+
+        BEGIN
+            EXECUTE format('CREATE TABLE %I PARTITION OF tasks FOR VALUES FROM (%L) TO (%L)',
+                           partition_name,
+                           month_start AT TIME ZONE 'UTC',
+                           (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+            created := created + 1;
+        EXCEPTION
+            -- El mes ya está cubierto por otra partición (tasks_legacy)
+            WHEN invalid_object_definition THEN
+                NULL;
+        END;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+SELECT create_task_partitions(3);
+
+-- -----------------------------------------------------------------------------
+-- 7. FUNCIÓN: detach_task_partition(partición)
+-- -----------------------------------------------------------------------------
+-- Archiva una partición antigua: deja de formar parte de 'tasks' (la API ya
+-- no ve sus tareas) pero la tabla se conserva con sus datos, para guardarla
+-- en otro sitio o borrarla con DROP TABLE.
+--
+-- DETACH PARTITION no toca las filas, pero los triggers de 'tasks' tampoco
+-- se enteran. Por eso la función, en la misma transacción:
+-- - resta sus tareas de los contadores (V6)
+-- - crea sus lápidas, para que GET /api/v1/tasks/changes las dé por borradas
+-- - avisa por NOTIFY (evento bulk-archive) a las réplicas y a los clientes SSE
+--
+-- Coste: proporcional al número de filas. Recorre la partición dos veces
+-- (el recuento y las lápidas) y escribe UNA lápida por tarea en
+-- task_tombstones, con su WAL; cada cliente de /tasks/changes descargará
+-- después todas esas lápidas. Es mucho menos que un DELETE (sin filas
+-- muertas en 'tasks' ni índices que actualizar), pero no es instantáneo:
+-- mejor en horas de poca carga.
+--
+--   SELECT detach_task_partition('tasks_2025_01');
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION detach_task_partition(target REGCLASS)
+RETURNS BIGINT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    removed           BIGINT;
+    removed_completed BIGINT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits
+                   WHERE inhrelid = target AND inhparent = 'tasks'::regclass) THEN
+        RAISE EXCEPTION '% no es una partición de tasks', target;
+    END IF;
+
+    EXECUTE format('SELECT count(*), count(*) FILTER (WHERE completed) FROM %s', target)
+        INTO removed, removed_completed;
+    EXECUTE format('INSERT INTO task_tombstones (task_id) SELECT id FROM %s '
+                   'ON CONFLICT (task_id) DO NOTHING', target);
+    EXECUTE format('ALTER TABLE tasks DETACH PARTITION %s', target);
+
+    PERFORM task_counters_add(-removed, -removed_completed);
+    PERFORM pg_notify('task_changes',
+                      json_build_object('type', 'bulk-archive',
+                                        'affected', LEAST(removed, 2147483647))::TEXT);
+    RETURN removed;
+END;
+$$;
+
+COMMENT ON TABLE tasks IS 'Tabla principal para almacenar tareas del To-Do List (particionada por mes de created_at)';
+COMMENT ON TABLE tasks_legacy IS 'Partición con las tareas anteriores a la migración V7';
+COMMENT ON COLUMN tasks.id IS 'Identificador único de la tarea (UUID v7 ordenado por tiempo; las filas anteriores a V4 conservan su UUID v4)';
+COMMENT ON COLUMN tasks.created_at IS 'Fecha y hora de creación de la tarea (clave de partición)';
+COMMENT ON COLUMN tasks.change_seq IS 'Número de cambio global (crece con cada INSERT/UPDATE)';
+COMMENT ON COLUMN tasks.change_xid IS 'Transacción que hizo el último cambio';
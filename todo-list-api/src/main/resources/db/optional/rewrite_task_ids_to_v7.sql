@@ -0,0 +1,32 @@
+-- =============================================================================
+-- SCRIPT OPCIONAL: Convertir los IDs v4 antiguos a UUIDv7
+-- =============================================================================
+-- ¡ATENCIÓN! Este script CAMBIA los IDs de las tareas existentes.
+-- Cualquier cliente que tenga guardado un ID antiguo dejará de encontrarlo.
+-- Por eso NO está en db/migration y Flyway nunca lo ejecuta solo.
+--
+-- Úsalo solo en migraciones de datos controladas (sin clientes conectados),
+-- cuando quieras que TODO el índice de la clave primaria quede ordenado.
+--
+-- Ejecución:
+--   psql -U postgres -d todolist_db -f rewrite_task_ids_to_v7.sql
+--
+-- Requiere la migración V4 (función uuid_generate_v7).
+-- =============================================================================
+
+BEGIN;
+
+-- El nuevo ID conserva el orden por fecha de creación de cada tarea.
+-- El 13er dígito hexadecimal del UUID es su versión ('4' = aleatorio).
+UPDATE tasks
+SET id = uuid_generate_v7(created_at)
+WHERE substring(id::text FROM 15 FOR 1) = '4';
+
+COMMIT;
+
+-- Reconstruir el índice de la clave primaria (ya ordenado y compacto)
+-- sin bloquear las escrituras. No puede ejecutarse dentro de una transacción.
+REINDEX INDEX CONCURRENTLY tasks_pkey;
+
+-- Actualizar estadísticas para el planificador
+ANALYZE tasks;
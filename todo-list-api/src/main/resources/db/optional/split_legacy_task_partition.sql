@@ -0,0 +1,74 @@
+-- =============================================================================
+-- SCRIPT OPCIONAL: Repartir tasks_legacy en particiones mensuales
+-- =============================================================================
+-- La migración V7 convirtió la tabla antigua en UNA partición (tasks_legacy)
+-- para no copiar millones de filas durante el arranque. Este script reparte
+-- esas filas en particiones mensuales (tasks_2024_01, tasks_2024_02...), para
+-- que también las tareas antiguas se beneficien de la poda de particiones y
+-- se puedan archivar mes a mes con detach_task_partition().
+--
+-- ¡ATENCIÓN! Copia TODAS las filas de tasks_legacy y bloquea la tabla 'tasks'
+-- mientras tanto. Por eso NO está en db/migration y Flyway nunca lo ejecuta
+-- solo. Úsalo en una ventana de mantenimiento, sin clientes conectados.
+--
+-- Ejecución:
+--   psql -U postgres -d todolist_db -f split_legacy_task_partition.sql
+--
+-- Requiere la migración V7.
+--
+-- Las filas se insertan directamente en cada partición, no a través de
+-- 'tasks': los triggers de 'tasks' no se disparan, así que los contadores
+-- (V6) no cambian y no aparecen cambios nuevos en la sincronización. Se
+-- copian tal cual, con su change_seq y su change_xid.
+-- =============================================================================
+
+BEGIN;
+
+LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE tasks DETACH PARTITION tasks_legacy;
+
+DO $$
+DECLARE
+    month_start    TIMESTAMP;
+    last_month     TIMESTAMP;
+    partition_name TEXT;
+BEGIN
+    SELECT date_trunc('month', min(created_at) AT TIME ZONE 'UTC'),
+           date_trunc('month', max(created_at) AT TIME ZONE 'UTC')
+    INTO month_start, last_month
+    FROM tasks_legacy;
+
+    WHILE month_start <= last_month LOOP
+        partition_name := 'tasks_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF tasks FOR VALUES FROM (%L) TO (%L)',
+                           partition_name,
+                           month_start AT TIME ZONE 'UTC',
+                           (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        END IF;
+
+        EXECUTE format(
+            'INSERT INTO %I (id, title, description, completed, created_at, updated_at, change_seq, change_xid) '
+            'SELECT id, title, description, completed, created_at, updated_at, change_seq, change_xid '
+            'FROM tasks_legacy WHERE created_at >= %L AND created_at < %L',
+            partition_name,
+            month_start AT TIME ZONE 'UTC',
+            (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        RAISE NOTICE 'Partición % rellenada', partition_name;
+
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+DROP TABLE tasks_legacy;
+
+-- Particiones del mes actual y siguientes que faltaran (el mes en curso
+-- estaba cubierto por tasks_legacy si no tenía filas)
+SELECT create_task_partitions(3);
+
+COMMIT;
+
+-- Estadísticas para el planificador (también de la tabla particionada)
+ANALYZE tasks;
@@ -0,0 +1,61 @@
+package com.example.todolist.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissingTaskCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void remembersOnlyMarkedIds() {
+        MissingTaskCache cache = new MissingTaskCache(true, 100, Duration.ofSeconds(10), meterRegistry);
+        UUID missing = UUID.randomUUID();
+
+        assertThat(cache.isKnownMissing(missing)).isFalse();
+        cache.markMissing(missing);
+
+        assertThat(cache.isKnownMissing(missing)).isTrue();
+        assertThat(cache.isKnownMissing(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void disabledCacheNeverReportsMissing() {
+        MissingTaskCache cache = new MissingTaskCache(false, 100, Duration.ofSeconds(10), meterRegistry);
+        UUID missing = UUID.randomUUID();
+
+        cache.markMissing(missing);
+
+        assertThat(cache.isKnownMissing(missing)).isFalse();
+    }
+
+    @Test
+    void zeroTtlDisablesTheCache() {
+        MissingTaskCache cache = new MissingTaskCache(true, 100, Duration.ZERO, meterRegistry);
+        UUID missing = UUID.randomUUID();
+
+        cache.markMissing(missing);
+
+        assertThat(cache.isKnownMissing(missing)).isFalse();
+    }
+
+    @Test
+    void publishesCacheMetrics() {
+        MissingTaskCache cache = new MissingTaskCache(true, 100, Duration.ofSeconds(10), meterRegistry);
+        UUID missing = UUID.randomUUID();
+        cache.markMissing(missing);
+        cache.isKnownMissing(missing);
+
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", MissingTaskCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.todolist.cache;
+
+import com.example.todolist.entity.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapBloomFilterTest {
+
+    @Test
+    void neverForgetsAnAddedId() {
+        OffHeapBloomFilter filter = OffHeapBloomFilter.create(100_000, 0.03);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            // UUIDv7 consecutivos (casi iguales) y UUIDv4 aleatorios
+            ids.add(UuidV7.next());
+            ids.add(UUID.randomUUID());
+        }
+
+        ids.forEach(filter::put);
+
+        assertThat(ids).allMatch(filter::mightContain);
+        assertThat(filter.insertions()).isEqualTo(ids.size());
+    }
+
+    @Test
+    void neverForgetsAnIdAddedConcurrently() throws InterruptedException {
+        OffHeapBloomFilter filter = OffHeapBloomFilter.create(200_000, 0.03);
+        ConcurrentLinkedQueue<UUID> added = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    UUID id = UuidV7.next();
+                    filter.put(id);
+                    added.add(id);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(added).hasSize(100_000).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtCapacity() {
+        OffHeapBloomFilter filter = OffHeapBloomFilter.create(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(UuidV7.next());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Objetivo: 1 %. Margen amplio para que la prueba no sea inestable
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        OffHeapBloomFilter filter = OffHeapBloomFilter.create(1_000, 0.03);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(filter.mightContain(UUID.randomUUID())).isFalse();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.todolist.cache;
+
+import com.example.todolist.dto.TaskChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskIdFilterTest {
+
+    private static final Duration RECENT_WINDOW = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    /**
+     * IDs "guardados en la BD" que devuelve cada reconstrucción
+     */
+    private final UUID stored = UUID.randomUUID();
+    private final UUID storedV7 = v7(System.currentTimeMillis() - Duration.ofDays(30).toMillis());
+
+    private TaskIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rows = mock(ResultSet.class);
+            when(rows.getObject(1, UUID.class)).thenReturn(stored, storedV7);
+            handler.processRow(rows);
+            handler.processRow(rows);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (filter != null) {
+            filter.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsOnlyIdsThatWereNeverAdded() {
+        filter = builtFilter(Duration.ZERO);
+        filter.feedConfirmed(System.currentTimeMillis(), null);
+
+        assertThat(filter.mightExist(stored)).isTrue();
+        assertThat(filter.mightExist(storedV7)).isTrue();
+        assertThat(filter.mightExist(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void isNotUsedUntilTheListenerConfirmsTheFeed() {
+        filter = builtFilter(Duration.ZERO);
+
+        assertThat(filter.mightExist(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void isNotUsedWhenTheLastConfirmationIsOlderThanTheWindow() {
+        filter = builtFilter(Duration.ZERO);
+        filter.feedConfirmed(System.currentTimeMillis() - RECENT_WINDOW.toMillis() - 1_000, null);
+
+        assertThat(filter.mightExist(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void lostConnectionDisablesFilterUntilResyncRebuild() {
+        filter = builtFilter(Duration.ZERO);
+        UUID absent = UUID.randomUUID();
+        filter.feedConfirmed(System.currentTimeMillis(), null);
+
+        filter.connectionLost();
+        filter.feedConfirmed(System.currentTimeMillis(), null);
+        // Se pudo perder algún alta: aunque el listener vuelva a confirmar, no se usa
+        assertThat(filter.mightExist(absent)).isTrue();
+
+        filter.onChange(TaskChangeEvent.of(TaskChangeEvent.RESYNC, null));
+        awaitRejected(absent);
+    }
+
+    @Test
+    void bulkImportDisablesFilterUntilRebuilt() {
+        filter = builtFilter(Duration.ofHours(1));
+        UUID absent = UUID.randomUUID();
+        filter.feedConfirmed(System.currentTimeMillis(), null);
+        assertThat(filter.mightExist(absent)).isFalse();
+
+        // El evento no trae los IDs importados
+        filter.onChange(TaskChangeEvent.bulk("import", 500));
+
+        assertThat(filter.mightExist(absent)).isTrue();
+    }
+
+    @Test
+    void createdEventAddsTheId() {
+        filter = builtFilter(Duration.ZERO);
+        filter.feedConfirmed(System.currentTimeMillis(), null);
+        UUID created = UUID.randomUUID();
+        assertThat(filter.mightExist(created)).isFalse();
+
+        filter.onChange(TaskChangeEvent.of(TaskChangeEvent.CREATED, created));
+
+        assertThat(filter.mightExist(created)).isTrue();
+    }
+
+    @Test
+    void recentUuidV7IsNeverRejected() {
+        filter = builtFilter(Duration.ZERO);
+        long now = System.currentTimeMillis();
+        filter.feedConfirmed(now, null);
+
+        // Su NOTIFY puede no haber llegado todavía
+        assertThat(filter.mightExist(v7(now - 1_000))).isTrue();
+        assertThat(filter.mightExist(v7(now - Duration.ofHours(1).toMillis()))).isFalse();
+    }
+
+    @Test
+    void uuidV7FromLongRunningWriteIsNeverRejected() {
+        filter = builtFilter(Duration.ZERO);
+        long now = System.currentTimeMillis();
+        long writeStart = now - Duration.ofHours(1).toMillis();
+        // Una importación abierta desde hace una hora: sus IDs llevan esa fecha
+        filter.feedConfirmed(now, writeStart);
+
+        assertThat(filter.mightExist(v7(writeStart + 5_000))).isTrue();
+        assertThat(filter.mightExist(v7(writeStart - 5_000))).isTrue();
+        assertThat(filter.mightExist(v7(writeStart - Duration.ofHours(1).toMillis()))).isFalse();
+    }
+
+    @Test
+    void longRunningWriteIsRememberedForTheWholeWindow() {
+        filter = builtFilter(Duration.ZERO);
+        long now = System.currentTimeMillis();
+        long writeStart = now - Duration.ofHours(1).toMillis();
+        filter.feedConfirmed(now - 2_000, writeStart);
+
+        // La transacción acaba de confirmar: ya no aparece en pg_stat_activity,
+        // pero su NOTIFY puede estar aún de camino
+        filter.feedConfirmed(now, null);
+
+        assertThat(filter.mightExist(v7(writeStart + 5_000))).isTrue();
+    }
+
+    @Test
+    void isNeverUsedWithoutEvents() {
+        filter = newFilter(false, Duration.ZERO);
+        filter.onApplicationReady();
+        filter.feedConfirmed(System.currentTimeMillis(), null);
+
+        assertThat(filter.mightExist(UUID.randomUUID())).isTrue();
+    }
+
+    private TaskIdFilter newFilter(boolean eventsEnabled, Duration rebuildDelay) {
+        return new TaskIdFilter(jdbcTemplate, mock(PlatformTransactionManager.class), meterRegistry,
+                true, eventsEnabled, 0.03, 1_000, 1.5, RECENT_WINDOW, rebuildDelay, Duration.ZERO);
+    }
+
+    /**
+     * Filtro con la primera construcción ya terminada
+     */
+    private TaskIdFilter builtFilter(Duration rebuildDelay) {
+        TaskIdFilter built = newFilter(true, rebuildDelay);
+        built.onApplicationReady();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("task.id.filter.entries").gauge().value() < 2) {
+            assertThat(System.currentTimeMillis()).as("Primera construcción del filtro").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+        return built;
+    }
+
+    /**
+     * Espera a que la reconstrucción en segundo plano termine y el filtro
+     * vuelva a rechazar 'absent'
+     */
+    private void awaitRejected(UUID absent) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (filter.mightExist(absent)) {
+            assertThat(System.currentTimeMillis()).as("Reconstrucción del filtro").isLessThan(deadline);
+            filter.feedConfirmed(System.currentTimeMillis(), null);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static UUID v7(long millis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (millis << 16) | 0x7000L | random.nextInt(0x1000);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.todolist.controller;
+
+import com.example.todolist.dto.ApiResponse;
+import com.example.todolist.dto.BulkOperationResponse;
+import com.example.todolist.dto.BulkTaskRequest;
+import com.example.todolist.events.TaskEventBroadcaster;
+import com.example.todolist.service.TaskExportService;
+import com.example.todolist.service.TaskImportService;
+import com.example.todolist.service.TaskListVersion;
+import com.example.todolist.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskExportService taskExportService;
+    @Mock
+    private TaskImportService taskImportService;
+    @Mock
+    private TaskListVersion taskListVersion;
+    @Mock
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    private TaskController taskController;
+
+    @BeforeEach
+    void setUp() {
+        taskController = new TaskController(taskService, taskExportService, taskImportService,
+                taskListVersion, taskEventBroadcaster);
+    }
+
+    @Test
+    void bulkDeleteWithEmptyFilterRequiresConfirmation() {
+        BulkTaskRequest request = new BulkTaskRequest(null, new BulkTaskRequest.Filter(null, " "));
+
+        ResponseEntity<ApiResponse<BulkOperationResponse>> response = taskController.bulkDelete(request, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().isSuccess()).isFalse();
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void bulkDeleteWithEmptyFilterRejectsOtherConfirmations() {
+        BulkTaskRequest request = new BulkTaskRequest(null, new BulkTaskRequest.Filter(null, null));
+
+        assertThat(taskController.bulkDelete(request, "yes").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void bulkDeleteWithEmptyFilterAndConfirmationDeletesAll() {
+        BulkTaskRequest request = new BulkTaskRequest(null, new BulkTaskRequest.Filter(null, null));
+        when(taskService.bulkDelete(request)).thenReturn(new BulkOperationResponse("delete", 7));
+
+        ResponseEntity<ApiResponse<BulkOperationResponse>> response = taskController.bulkDelete(request, "all");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getData().getAffected()).isEqualTo(7);
+    }
+
+    @Test
+    void bulkDeleteWithCriteriaNeedsNoConfirmation() {
+        BulkTaskRequest request = new BulkTaskRequest(null, new BulkTaskRequest.Filter(true, null));
+        when(taskService.bulkDelete(request)).thenReturn(new BulkOperationResponse("delete", 2));
+
+        assertThat(taskController.bulkDelete(request, null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
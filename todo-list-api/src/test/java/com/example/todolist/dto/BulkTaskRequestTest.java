@@ -0,0 +1,36 @@
+package com.example.todolist.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkTaskRequestTest {
+
+    @Test
+    void targetMustBeEitherIdsOrFilter() {
+        BulkTaskRequest.Filter filter = new BulkTaskRequest.Filter(false, null);
+        List<UUID> ids = List.of(UUID.randomUUID());
+
+        assertThat(new BulkTaskRequest(ids, null).isTargetValid()).isTrue();
+        assertThat(new BulkTaskRequest(null, filter).isTargetValid()).isTrue();
+        assertThat(new BulkTaskRequest(ids, filter).isTargetValid()).isFalse();
+        assertThat(new BulkTaskRequest(null, null).isTargetValid()).isFalse();
+    }
+
+    @Test
+    void filterWithoutCriteriaSelectsEverything() {
+        assertThat(new BulkTaskRequest.Filter(null, null).isEmpty()).isTrue();
+        assertThat(new BulkTaskRequest.Filter(null, "").isEmpty()).isTrue();
+        assertThat(new BulkTaskRequest.Filter(null, "   ").isEmpty()).isTrue();
+    }
+
+    @Test
+    void filterWithStatusOrTextIsNotEmpty() {
+        assertThat(new BulkTaskRequest.Filter(false, null).isEmpty()).isFalse();
+        assertThat(new BulkTaskRequest.Filter(true, " ").isEmpty()).isFalse();
+        assertThat(new BulkTaskRequest.Filter(null, "comprar").isEmpty()).isFalse();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todolist.service;
+
+import com.example.todolist.exception.InvalidSyncTokenException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncTokenTest {
+
+    @Test
+    void roundTripsAllFields() {
+        SyncToken token = new SyncToken(4_000_000_123L, 987_654L, 4_000_000_200L);
+
+        assertThat(SyncToken.decode(token.encode())).isEqualTo(token);
+    }
+
+    @Test
+    void roundTripsInitialAndRoundStartTokens() {
+        assertThat(SyncToken.decode(SyncToken.initial().encode())).isEqualTo(SyncToken.initial());
+        assertThat(SyncToken.decode(SyncToken.startOfRound(42).encode()))
+                .isEqualTo(new SyncToken(42, 0, 0));
+    }
+
+    @Test
+    void onlyTokensWithoutRoundXminStartARound() {
+        assertThat(SyncToken.initial().isRoundStart()).isTrue();
+        assertThat(SyncToken.startOfRound(42).isRoundStart()).isTrue();
+        assertThat(new SyncToken(42, 10, 50).isRoundStart()).isFalse();
+    }
+
+    @Test
+    void encodesAsUrlSafeTextWithoutPadding() {
+        assertThat(new SyncToken(1, 2, 3).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> SyncToken.decode("¿token?"))
+                .isInstanceOf(InvalidSyncTokenException.class);
+        assertThatThrownBy(() -> SyncToken.decode(encodeRaw("1|2")))
+                .isInstanceOf(InvalidSyncTokenException.class);
+        assertThatThrownBy(() -> SyncToken.decode(encodeRaw("1|dos|3")))
+                .isInstanceOf(InvalidSyncTokenException.class);
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThatThrownBy(() -> SyncToken.decode(encodeRaw("1|-2|3")))
+                .isInstanceOf(InvalidSyncTokenException.class);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
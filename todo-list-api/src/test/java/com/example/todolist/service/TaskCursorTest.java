@@ -0,0 +1,75 @@
+package com.example.todolist.service;
+
+import com.example.todolist.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-01-15T10:30:00.123456Z");
+    private static final UUID ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Test
+    void roundTripsBothDirections() {
+        for (TaskCursor.Direction direction : TaskCursor.Direction.values()) {
+            TaskCursor cursor = new TaskCursor(direction, CREATED_AT, ID);
+
+            assertThat(TaskCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void keepsSubMillisecondPrecision() {
+        // PostgreSQL guarda microsegundos: perderlos saltaría o repetiría filas
+        Instant createdAt = Instant.parse("2024-01-15T10:30:00.000001Z");
+        TaskCursor cursor = new TaskCursor(TaskCursor.Direction.NEXT, createdAt, ID);
+
+        assertThat(TaskCursor.decode(cursor.encode()).createdAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void encodesAsUrlSafeTextWithoutPadding() {
+        String encoded = new TaskCursor(TaskCursor.Direction.PREVIOUS, CREATED_AT, ID).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTextThatIsNotBase64() {
+        assertThatThrownBy(() -> TaskCursor.decode("no es un cursor!"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsUnknownDirection() {
+        assertThatThrownBy(() -> TaskCursor.decode(encodeRaw("X|" + CREATED_AT + "|" + ID)))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsMissingOrExtraParts() {
+        assertThatThrownBy(() -> TaskCursor.decode(encodeRaw("N|" + CREATED_AT)))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(encodeRaw("N|" + CREATED_AT + "|" + ID + "|1")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsMalformedDateOrId() {
+        assertThatThrownBy(() -> TaskCursor.decode(encodeRaw("N|ayer|" + ID)))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(encodeRaw("N|" + CREATED_AT + "|42")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todolist.service;
+
+import com.example.todolist.exception.InvalidSearchException;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskSearchService taskSearchService;
+
+    @BeforeEach
+    void setUp() {
+        taskSearchService = new TaskSearchService(taskRepository);
+    }
+
+    @Test
+    void blankSearchResolvesToNoTextCriteria() {
+        assertThat(taskSearchService.resolveCriteria(null, true))
+                .isEqualTo(new TaskSearchService.SearchCriteria(null, null));
+        assertThat(taskSearchService.resolveCriteria("  ", null))
+                .isEqualTo(new TaskSearchService.SearchCriteria(null, null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void searchWithFullTextMatchesUsesFullText() {
+        when(taskRepository.existsFullTextMatch("comprar:* & leche:*", false)).thenReturn(true);
+
+        assertThat(taskSearchService.resolveCriteria(" comprar leche ", false))
+                .isEqualTo(new TaskSearchService.SearchCriteria("comprar:* & leche:*", null));
+    }
+
+    @Test
+    void searchWithoutFullTextMatchesFallsBackToFragment() {
+        // Mismo estado que el filtro: la comprobación respeta 'completed'
+        when(taskRepository.existsFullTextMatch("eche:*", true)).thenReturn(false);
+
+        assertThat(taskSearchService.resolveCriteria("eche", true))
+                .isEqualTo(new TaskSearchService.SearchCriteria(null, "%eche%"));
+    }
+
+    @Test
+    void shortWordUsesFullTextEvenWithoutMatches() {
+        // '%ab%' no contiene ningún trigrama: la búsqueda por fragmento recorrería toda la tabla
+        assertThat(taskSearchService.resolveCriteria("ab", null))
+                .isEqualTo(new TaskSearchService.SearchCriteria("ab:*", null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shortSearchWithoutWordsIsRejected() {
+        assertThatThrownBy(() -> taskSearchService.resolveCriteria("#", null))
+                .isInstanceOf(InvalidSearchException.class);
+        assertThatThrownBy(() -> taskSearchService.search("%_", null, true, 0, 20))
+                .isInstanceOf(InvalidSearchException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shortWordSearchNeverFallsBackToFragment() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(taskRepository.fullTextSearch("ab:*", null, true, pageable)).thenReturn(Page.empty(pageable));
+
+        assertThat(taskSearchService.search("ab", null, true, 0, 20)).isEmpty();
+        verify(taskRepository, never()).trigramSearch(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void trigramNeedsThreeCharactersNotThreeBytes() {
+        assertThat(TaskSearchService.allowsTrigram("ñu")).isFalse();
+        assertThat(TaskSearchService.allowsTrigram("#1a")).isTrue();
+    }
+
+    @Test
+    void fragmentPatternEscapesLikeWildcards() {
+        assertThat(TaskSearchService.toContainsPattern("100%_a\\b")).isEqualTo("%100\\%\\_a\\\\b%");
+    }
+
+    @Test
+    void prefixQueryKeepsOnlyWords() {
+        assertThat(TaskSearchService.toPrefixTsQuery("Comprar  leche!")).isEqualTo("Comprar:* & leche:*");
+        assertThat(TaskSearchService.toPrefixTsQuery("¡¿!?")).isNull();
+    }
+}
@@ -0,0 +1,494 @@
+package com.example.todolist.service;
+
+import com.example.todolist.cache.MissingTaskCache;
+import com.example.todolist.cache.TaskIdFilter;
+import com.example.todolist.dto.BulkOperationResponse;
+import com.example.todolist.dto.BulkTaskRequest;
+import com.example.todolist.dto.CursorPageResponse;
+import com.example.todolist.dto.TaskChangeEvent;
+import com.example.todolist.dto.TaskChangesResponse;
+import com.example.todolist.dto.TaskRequest;
+import com.example.todolist.dto.TaskResponse;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskTombstone;
+import com.example.todolist.events.TaskChangeNotifier;
+import com.example.todolist.exception.InvalidCursorException;
+import com.example.todolist.exception.InvalidSyncTokenException;
+import com.example.todolist.exception.TaskNotFoundException;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.repository.TaskTombstoneRepository;
+import com.example.todolist.repository.TaskView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-15T10:00:00Z");
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+    @Mock
+    private TaskSearchService taskSearchService;
+    @Mock
+    private Validator validator;
+    @Mock
+    private TaskListVersion taskListVersion;
+    @Mock
+    private TaskChangeNotifier taskChangeNotifier;
+    @Mock
+    private MissingTaskCache missingTaskCache;
+    @Mock
+    private TaskIdFilter taskIdFilter;
+
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService(taskRepository, taskTombstoneRepository, taskSearchService, validator,
+                taskListVersion, taskChangeNotifier, missingTaskCache, taskIdFilter);
+    }
+
+    // =========================================================================
+    // PAGINACIÓN POR CURSOR
+    // =========================================================================
+
+    @Test
+    void firstCursorPageReportsNextCursorAtLastReturnedTask() {
+        // Orden (created_at DESC, id DESC); se piden size + 1 filas
+        List<TaskView> rows = List.of(row(3), row(2), row(1));
+        when(taskRepository.findFirstByKeyset(true, 3)).thenReturn(rows);
+
+        CursorPageResponse<TaskResponse> page = taskService.getTasksByCursor(null, null, true, 2);
+
+        assertThat(page.getContent()).extracting(TaskResponse::getId)
+                .containsExactly(rows.get(0).getId(), rows.get(1).getId());
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.isHasPrevious()).isFalse();
+        assertThat(page.getPreviousCursor()).isNull();
+        assertThat(TaskCursor.decode(page.getNextCursor()))
+                .isEqualTo(new TaskCursor(TaskCursor.Direction.NEXT, rows.get(1).getCreatedAt(), rows.get(1).getId()));
+    }
+
+    @Test
+    void nextCursorContinuesStrictlyAfterItsTask() {
+        TaskView last = row(2);
+        String cursor = new TaskCursor(TaskCursor.Direction.NEXT, last.getCreatedAt(), last.getId()).encode();
+        TaskView older = row(1);
+        when(taskRepository.findAfterKeyset(last.getCreatedAt(), last.getId(), true, 3))
+                .thenReturn(List.of(older));
+
+        CursorPageResponse<TaskResponse> page = taskService.getTasksByCursor(null, cursor, true, 2);
+
+        assertThat(page.getContent()).extracting(TaskResponse::getId).containsExactly(older.getId());
+        // Última página: no hay siguiente, pero sí anterior (de ahí venimos)
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(TaskCursor.decode(page.getPreviousCursor()))
+                .isEqualTo(new TaskCursor(TaskCursor.Direction.PREVIOUS, older.getCreatedAt(), older.getId()));
+    }
+
+    @Test
+    void previousCursorReturnsTasksInListOrder() {
+        TaskView first = row(2);
+        String cursor = new TaskCursor(TaskCursor.Direction.PREVIOUS, first.getCreatedAt(), first.getId()).encode();
+        // La página anterior se lee en orden ascendente
+        TaskView newer = row(3);
+        TaskView newest = row(4);
+        when(taskRepository.findBeforeKeyset(first.getCreatedAt(), first.getId(), true, 3))
+                .thenReturn(List.of(newer, newest));
+
+        CursorPageResponse<TaskResponse> page = taskService.getTasksByCursor(null, cursor, true, 2);
+
+        assertThat(page.getContent()).extracting(TaskResponse::getId)
+                .containsExactly(newest.getId(), newer.getId());
+        assertThat(page.isHasPrevious()).isFalse();
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(TaskCursor.decode(page.getNextCursor()).id()).isEqualTo(newer.getId());
+    }
+
+    @Test
+    void cursorWithStatusFilterUsesFilteredKeysetQuery() {
+        TaskView last = row(2);
+        String cursor = new TaskCursor(TaskCursor.Direction.NEXT, last.getCreatedAt(), last.getId()).encode();
+        when(taskRepository.findAfterByCompletedKeyset(false, last.getCreatedAt(), last.getId(), false, 11))
+                .thenReturn(List.of());
+
+        CursorPageResponse<TaskResponse> page = taskService.getTasksByCursor(false, cursor, false, 10);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getPreviousCursor()).isNull();
+    }
+
+    @Test
+    void invalidCursorIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> taskService.getTasksByCursor(null, "basura", true, 10))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    // =========================================================================
+    // BÚSQUEDA POR ID Y TAREAS INEXISTENTES
+    // =========================================================================
+
+    @Test
+    void existingTaskIsReadFromDatabase() {
+        Task stored = task(UUID.randomUUID(), "Comprar leche", false);
+        when(taskIdFilter.mightExist(stored.getId())).thenReturn(true);
+        when(taskRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        assertThat(taskService.getTaskById(stored.getId()).getTitle()).isEqualTo("Comprar leche");
+    }
+
+    @Test
+    void missingTaskIsRememberedAndThrowsWithoutStackTrace() {
+        UUID id = UUID.randomUUID();
+        when(taskIdFilter.mightExist(id)).thenReturn(true);
+        when(taskRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.getTaskById(id))
+                .isInstanceOf(TaskNotFoundException.class)
+                .hasMessageContaining(id.toString())
+                .satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
+        verify(missingTaskCache).markMissing(id);
+    }
+
+    @Test
+    void knownMissingTaskIsRejectedWithoutQuerying() {
+        UUID id = UUID.randomUUID();
+        when(taskIdFilter.mightExist(id)).thenReturn(true);
+        when(missingTaskCache.isKnownMissing(id)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.getTaskById(id)).isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void idRejectedByFilterIsNotQueried() {
+        UUID id = UUID.randomUUID();
+        when(taskIdFilter.mightExist(id)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskService.getTaskById(id)).isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(taskRepository, missingTaskCache);
+    }
+
+    @Test
+    void secondLookupOfMissingTaskSkipsDatabase() {
+        MissingTaskCache realCache = new MissingTaskCache(true, 100, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        TaskService service = new TaskService(taskRepository, taskTombstoneRepository, taskSearchService, validator,
+                taskListVersion, taskChangeNotifier, realCache, taskIdFilter);
+        UUID id = UUID.randomUUID();
+        when(taskIdFilter.mightExist(id)).thenReturn(true);
+        when(taskRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getTaskById(id)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> service.getTaskById(id)).isInstanceOf(TaskNotFoundException.class);
+
+        verify(taskRepository, times(1)).findById(id);
+    }
+
+    // =========================================================================
+    // SINCRONIZACIÓN INCREMENTAL
+    // =========================================================================
+
+    @Test
+    void changesMergeTasksAndTombstonesByChangeNumber() {
+        Task first = changedTask(1);
+        Task third = changedTask(3);
+        TaskTombstone second = tombstone(2);
+        when(taskRepository.currentSnapshotXmin()).thenReturn(900L);
+        when(taskRepository.findChangedSince(0, 0, 11)).thenReturn(List.of(first, third));
+        when(taskTombstoneRepository.findDeletedSince(0, 0, 11)).thenReturn(List.of(second));
+
+        TaskChangesResponse changes = taskService.getChangesSince(null, 10);
+
+        assertThat(changes.getChanged()).extracting(TaskResponse::getId)
+                .containsExactly(first.getId(), third.getId());
+        assertThat(changes.getDeleted()).containsExactly(second.getTaskId());
+        assertThat(changes.isHasMore()).isFalse();
+        // Ronda terminada: la siguiente empieza en la transacción más antigua abierta al empezar
+        assertThat(SyncToken.decode(changes.getNextToken())).isEqualTo(SyncToken.startOfRound(900));
+    }
+
+    @Test
+    void pageLimitCountsTombstonesAndContinuesAfterLastSentChange() {
+        Task first = changedTask(1);
+        Task third = changedTask(3);
+        TaskTombstone second = tombstone(2);
+        when(taskRepository.currentSnapshotXmin()).thenReturn(900L);
+        when(taskRepository.findChangedSince(0, 0, 3)).thenReturn(List.of(first, third));
+        when(taskTombstoneRepository.findDeletedSince(0, 0, 3)).thenReturn(List.of(second));
+
+        TaskChangesResponse changes = taskService.getChangesSince(null, 2);
+
+        assertThat(changes.getChanged()).extracting(TaskResponse::getId).containsExactly(first.getId());
+        assertThat(changes.getDeleted()).containsExactly(second.getTaskId());
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(SyncToken.decode(changes.getNextToken())).isEqualTo(new SyncToken(0, 2, 900));
+    }
+
+    @Test
+    void pageInsideRoundKeepsRoundXminAndSkipsSnapshot() {
+        String since = new SyncToken(500, 2, 900).encode();
+        Task third = changedTask(3);
+        when(taskRepository.findChangedSince(500, 2, 11)).thenReturn(List.of(third));
+        when(taskTombstoneRepository.findDeletedSince(500, 2, 11)).thenReturn(List.of());
+
+        TaskChangesResponse changes = taskService.getChangesSince(since, 10);
+
+        assertThat(changes.getChanged()).extracting(TaskResponse::getId).containsExactly(third.getId());
+        assertThat(SyncToken.decode(changes.getNextToken())).isEqualTo(SyncToken.startOfRound(900));
+        verify(taskRepository, never()).currentSnapshotXmin();
+    }
+
+    @Test
+    void changesWithOnlyTombstonesReportDeletions() {
+        TaskTombstone deleted = tombstone(7);
+        when(taskRepository.currentSnapshotXmin()).thenReturn(900L);
+        when(taskRepository.findChangedSince(0, 0, 11)).thenReturn(List.of());
+        when(taskTombstoneRepository.findDeletedSince(0, 0, 11)).thenReturn(List.of(deleted));
+
+        TaskChangesResponse changes = taskService.getChangesSince(null, 10);
+
+        assertThat(changes.getChanged()).isEmpty();
+        assertThat(changes.getDeleted()).containsExactly(deleted.getTaskId());
+    }
+
+    @Test
+    void invalidSyncTokenIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> taskService.getChangesSince("basura", 10))
+                .isInstanceOf(InvalidSyncTokenException.class);
+        verifyNoInteractions(taskRepository, taskTombstoneRepository);
+    }
+
+    // =========================================================================
+    // ACTUALIZAR Y ALTERNAR (UPDATE ... RETURNING)
+    // =========================================================================
+
+    @Test
+    void updateReturnsTheRowOfItsSingleStatement() {
+        Task updated = task(UUID.randomUUID(), "Comprar pan", true);
+        when(taskRepository.updateReturning(updated.getId(), "Comprar pan", null, true))
+                .thenReturn(Optional.of(updated));
+
+        TaskResponse response = taskService.updateTask(updated.getId(),
+                TaskRequest.builder().title("Comprar pan").completed(true).build());
+
+        assertThat(response.getTitle()).isEqualTo("Comprar pan");
+        assertThat(response.getCompleted()).isTrue();
+        // Ningún SELECT previo
+        verify(taskRepository, never()).findById(any());
+        verify(taskListVersion).changed();
+        verify(taskChangeNotifier).publish(argThat(event ->
+                TaskChangeEvent.UPDATED.equals(event.getType()) && updated.getId().equals(event.getId())));
+    }
+
+    @Test
+    void updateOfMissingTaskThrowsAndPublishesNothing() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.updateReturning(id, "Comprar pan", null, null)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.updateTask(id, TaskRequest.builder().title("Comprar pan").build()))
+                .isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(taskListVersion, taskChangeNotifier);
+    }
+
+    @Test
+    void toggleReturnsTheNewState() {
+        Task toggled = task(UUID.randomUUID(), "Regar las plantas", true);
+        when(taskRepository.toggleCompletedReturning(toggled.getId())).thenReturn(Optional.of(toggled));
+
+        TaskResponse response = taskService.toggleTaskCompleted(toggled.getId());
+
+        assertThat(response.getCompleted()).isTrue();
+        verify(taskRepository, never()).findById(any());
+        verify(taskChangeNotifier).publish(argThat(event ->
+                TaskChangeEvent.TOGGLED.equals(event.getType()) && toggled.getId().equals(event.getId())));
+    }
+
+    @Test
+    void toggleOfMissingTaskThrowsAndPublishesNothing() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.toggleCompletedReturning(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.toggleTaskCompleted(id))
+                .isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(taskListVersion, taskChangeNotifier);
+    }
+
+    // =========================================================================
+    // ELIMINAR (UN SOLO DELETE)
+    // =========================================================================
+
+    @Test
+    void deleteUsesOneStatementAndPublishes() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.deleteTaskById(id)).thenReturn(1);
+
+        taskService.deleteTask(id);
+
+        verify(taskRepository, never()).existsById(any());
+        verify(taskRepository, never()).findById(any());
+        verify(taskListVersion).changed();
+        verify(taskChangeNotifier).publish(argThat(event ->
+                TaskChangeEvent.DELETED.equals(event.getType()) && id.equals(event.getId())));
+    }
+
+    @Test
+    void deleteOfMissingTaskThrowsAndPublishesNothing() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.deleteTaskById(id)).thenReturn(0);
+
+        assertThatThrownBy(() -> taskService.deleteTask(id))
+                .isInstanceOf(TaskNotFoundException.class)
+                .extracting(ex -> ((TaskNotFoundException) ex).getTaskId())
+                .isEqualTo(id);
+        verifyNoInteractions(taskListVersion, taskChangeNotifier);
+    }
+
+    // =========================================================================
+    // OPERACIONES MASIVAS
+    // =========================================================================
+
+    @Test
+    void bulkByIdsTouchesOnlyThoseIds() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(taskRepository.deleteByIds(ids)).thenReturn(2);
+
+        BulkOperationResponse result = taskService.bulkDelete(new BulkTaskRequest(ids, null));
+
+        assertThat(result.getAffected()).isEqualTo(2);
+        verifyNoInteractions(taskSearchService);
+        verify(taskChangeNotifier).publish(argThat(event ->
+                "bulk-delete".equals(event.getType()) && event.getAffected() == 2));
+    }
+
+    @Test
+    void bulkByFilterAppliesResolvedSearchAndStatus() {
+        when(taskSearchService.resolveCriteria("leche", false))
+                .thenReturn(new TaskSearchService.SearchCriteria("leche:*", null));
+        when(taskRepository.setCompletedByFilter(true, false, "leche:*", null)).thenReturn(3);
+
+        BulkOperationResponse result = taskService.bulkSetCompleted(
+                new BulkTaskRequest(null, new BulkTaskRequest.Filter(false, "leche")), true);
+
+        assertThat(result.getOperation()).isEqualTo("complete");
+        assertThat(result.getAffected()).isEqualTo(3);
+        verify(taskListVersion).changed();
+    }
+
+    @Test
+    void bulkByEmptyFilterTargetsAllTasks() {
+        // Sin criterios de texto ni de estado, BULK_FILTER selecciona todas las filas
+        when(taskSearchService.resolveCriteria(null, null))
+                .thenReturn(new TaskSearchService.SearchCriteria(null, null));
+        when(taskRepository.toggleCompletedByFilter(null, null, null)).thenReturn(5);
+
+        BulkOperationResponse result = taskService.bulkToggle(
+                new BulkTaskRequest(null, new BulkTaskRequest.Filter(null, null)));
+
+        assertThat(result.getAffected()).isEqualTo(5);
+    }
+
+    @Test
+    void bulkThatMatchesNothingPublishesNothing() {
+        when(taskSearchService.resolveCriteria("eche", null))
+                .thenReturn(new TaskSearchService.SearchCriteria(null, "%eche%"));
+        when(taskRepository.deleteByFilter(null, null, "%eche%")).thenReturn(0);
+
+        BulkOperationResponse result = taskService.bulkDelete(
+                new BulkTaskRequest(null, new BulkTaskRequest.Filter(null, "eche")));
+
+        assertThat(result.getAffected()).isZero();
+        verifyNoInteractions(taskListVersion, taskChangeNotifier);
+    }
+
+    /**
+     * Fila de listado creada 'minutes' minutos después de T0
+     */
+    private static TaskView row(int minutes) {
+        return new Row(UUID.randomUUID(), T0.plusSeconds(60L * minutes));
+    }
+
+    private static Task task(UUID id, String title, boolean completed) {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .completed(completed)
+                .createdAt(T0)
+                .updatedAt(T0)
+                .build();
+    }
+
+    private static Task changedTask(long changeSeq) {
+        Task task = task(UUID.randomUUID(), "Tarea " + changeSeq, false);
+        task.setChangeSeq(changeSeq);
+        return task;
+    }
+
+    private static TaskTombstone tombstone(long changeSeq) {
+        TaskTombstone tombstone = new TaskTombstone();
+        ReflectionTestUtils.setField(tombstone, "taskId", UUID.randomUUID());
+        ReflectionTestUtils.setField(tombstone, "deletedAt", T0);
+        ReflectionTestUtils.setField(tombstone, "changeSeq", changeSeq);
+        return tombstone;
+    }
+
+    private record Row(UUID id, Instant createdAt) implements TaskView {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return "Tarea " + id;
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public Boolean getCompleted() {
+            return false;
+        }
+
+        @Override
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public Instant getUpdatedAt() {
+            return createdAt;
+        }
+    }
+}